@@ -2,6 +2,7 @@ import React, { useState, useEffect } from 'react';
 import { apiService } from './api/apiService';
 import { LoginPage } from './components/LoginPage';
 import { AppLayout } from './components/AppLayout';
+import { EventStreamProvider } from './api/eventStream';
 import { Toaster } from 'react-hot-toast';
 
 export default function App() {
@@ -54,7 +55,9 @@ export default function App() {
     <div id="root">
       <Toaster position="bottom-right" /> {/* <-- 2. Add the Toaster component here */}
       {user ? (
-        <AppLayout token={token} user={user} onLogout={handleLogout} />
+        <EventStreamProvider token={token}>
+          <AppLayout token={token} user={user} onLogout={handleLogout} />
+        </EventStreamProvider>
       ) : (
         <LoginPage onLoginSuccess={handleLoginSuccess} />
       )}
@@ -16,10 +16,13 @@ export const apiService = {
     if (!response.ok) throw new Error('Failed to fetch user');
     return response.json();
   },
+  // With filters.limit the response is a page: { items, nextCursor } of idea summaries (no description)
   getIdeas: async (token, filters = {}) => {
     const params = new URLSearchParams();
     if (filters.status) params.append('status', filters.status);
     if (filters.priority) params.append('priority', filters.priority);
+    if (filters.limit) params.append('limit', filters.limit);
+    if (filters.cursor) params.append('cursor', filters.cursor);
     
     const response = await fetch(`/api/ideas?${params.toString()}`, {
       headers: { Authorization: `Bearer ${token}` },
@@ -52,6 +55,14 @@ export const apiService = {
     if (!response.ok) throw new Error('Failed to fetch tasks');
     return response.json();
   },
+  // Number of tasks in the inbox, for badges (does not download the tasks)
+  countMyTasks: async (token) => {
+    const response = await fetch('/api/tasks/count', {
+      headers: { Authorization: `Bearer ${token}` },
+    });
+    if (!response.ok) throw new Error('Failed to count tasks');
+    return (await response.json()).count;
+  },
   claimTask: async (token, taskId) => {
     const response = await fetch(`/api/tasks/${taskId}/claim`, {
       method: 'POST',
@@ -115,6 +126,15 @@ export const apiService = {
     });
     if (!response.ok) throw new Error('Failed to delete document');
   },
+  // Short-lived ticket to open the event stream (see eventStream.jsx), so the token never goes in a URL
+  getEventTicket: async (token) => {
+    const response = await fetch('/api/events/ticket', {
+      method: 'POST',
+      headers: { Authorization: `Bearer ${token}` },
+    });
+    if (!response.ok) throw new Error('Failed to get an event stream ticket');
+    return response.json();
+  },
   getDashboardStats: async (token) => {
     const response = await fetch('/api/dashboard/stats', {
       headers: { Authorization: `Bearer ${token}` },
@@ -122,15 +142,21 @@ export const apiService = {
     if (!response.ok) throw new Error('Failed to fetch dashboard stats');
     return response.json();
   },
-  updateIdea: async (token, ideaId, ideaData) => {
+  // version: the idea.version the edit started from, sent as If-Match so a concurrent change is not overwritten
+  updateIdea: async (token, ideaId, ideaData, version) => {
+    const headers = {
+      'Content-Type': 'application/json',
+      Authorization: `Bearer ${token}`,
+    };
+    if (version !== undefined && version !== null) headers['If-Match'] = `"${version}"`;
     const response = await fetch(`/api/ideas/${ideaId}`, {
       method: 'PUT',
-      headers: {
-        'Content-Type': 'application/json',
-        Authorization: `Bearer ${token}`,
-      },
+      headers,
       body: JSON.stringify(ideaData),
     });
+    if (response.status === 412 || response.status === 409) {
+      throw new Error('This idea was changed by someone else, reload it and retry.');
+    }
     if (!response.ok) throw new Error('Failed to update idea');
     return response.json();
   },
@@ -0,0 +1,88 @@
+import React, { createContext, useCallback, useContext, useEffect, useRef } from 'react';
+import { apiService } from './apiService';
+
+const EVENT_TYPES = ['TASK_CREATED', 'TASK_ASSIGNED', 'TASK_COMPLETED', 'TASK_DELETED', 'IDEA_STATUS_CHANGED'];
+const MAX_RETRY_DELAY_MS = 30000;
+
+const EventStreamContext = createContext(null);
+
+// One server-sent event stream per signed-in user, shared by all pages. It is opened with a short-lived ticket
+// (EventSource cannot send the Authorization header) and, after an error, reopened with a new ticket with backoff;
+// subscribers are then told to refetch, since events may have been missed while disconnected.
+export const EventStreamProvider = ({ token, children }) => {
+  const subscribers = useRef(new Set());
+
+  useEffect(() => {
+    if (!token) return undefined;
+    let source = null;
+    let retryTimer;
+    let closed = false;
+    let failures = 0;
+    let connectedBefore = false;
+
+    const scheduleReconnect = () => {
+      if (closed) return;
+      const delay = Math.min(MAX_RETRY_DELAY_MS, 1000 * 2 ** failures);
+      failures += 1;
+      retryTimer = setTimeout(connect, delay);
+    };
+
+    const connect = async () => {
+      let ticket;
+      try {
+        ({ ticket } = await apiService.getEventTicket(token));
+      } catch {
+        scheduleReconnect();
+        return;
+      }
+      if (closed) return;
+      source = new EventSource(`/api/events?ticket=${encodeURIComponent(ticket)}`);
+      source.onopen = () => {
+        failures = 0;
+        if (connectedBefore) subscribers.current.forEach((s) => s.onReconnect?.());
+        connectedBefore = true;
+      };
+      // The browser would retry with the same ticket, which may have expired: reopen with a new one instead
+      source.onerror = () => {
+        source.close();
+        scheduleReconnect();
+      };
+      EVENT_TYPES.forEach((type) =>
+        source.addEventListener(type, (e) => {
+          const event = JSON.parse(e.data);
+          subscribers.current.forEach((s) => s.onEvent?.(event));
+        })
+      );
+    };
+
+    connect();
+    return () => {
+      closed = true;
+      clearTimeout(retryTimer);
+      if (source) source.close();
+    };
+  }, [token]);
+
+  const subscribe = useCallback((subscriber) => {
+    subscribers.current.add(subscriber);
+    return () => subscribers.current.delete(subscriber);
+  }, []);
+
+  return <EventStreamContext.Provider value={subscribe}>{children}</EventStreamContext.Provider>;
+};
+
+// onEvent(event) for each pushed change, onReconnect() after the stream was reopened. The latest handlers are
+// always called, so they may use the current state and props of the component.
+export const useChangeEvents = (onEvent, onReconnect) => {
+  const subscribe = useContext(EventStreamContext);
+  const handlers = useRef({ onEvent, onReconnect });
+  handlers.current = { onEvent, onReconnect };
+
+  useEffect(() => {
+    if (!subscribe) return undefined;
+    return subscribe({
+      onEvent: (event) => handlers.current.onEvent?.(event),
+      onReconnect: () => handlers.current.onReconnect?.(),
+    });
+  }, [subscribe]);
+};
@@ -1,4 +1,6 @@
-import React, { useState } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
+import { apiService } from '../api/apiService';
+import { useChangeEvents } from '../api/eventStream';
 import { IdeasPage } from './IdeasPage';
 import { MyTasksPage } from './MyTasksPage';
 import { IdeaModal } from './IdeaModal';
@@ -30,6 +32,23 @@ export const AppLayout = ({ token, user, onLogout }) => {
   const [dashboardRefreshKey, setDashboardRefreshKey] = useState(0);
   const [userCreateTick, setUserCreateTick] = useState(0); // drives opening create-user modal
 
+  const [taskCount, setTaskCount] = useState(null);
+  const taskCountTimer = useRef();
+
+  // Tasks badge: refreshed on pushed task events (debounced) and after the event stream reconnects
+  const refreshTaskCount = () => apiService.countMyTasks(token).then(setTaskCount).catch(() => {});
+  useEffect(() => {
+    if (!token) return undefined;
+    refreshTaskCount();
+    return () => clearTimeout(taskCountTimer.current);
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [token]);
+  useChangeEvents((event) => {
+    if (!event.taskId) return;
+    clearTimeout(taskCountTimer.current);
+    taskCountTimer.current = setTimeout(refreshTaskCount, 500);
+  }, refreshTaskCount);
+
   const isEmetteur = user?.groups?.includes('EM');
   const isCQ = user?.groups?.includes('CQ');
   const isCSI = user?.groups?.includes('CSI');
@@ -52,7 +71,7 @@ export const AppLayout = ({ token, user, onLogout }) => {
     setShowIdeaModal(true);
   };
 
-  const NavButton = ({ id, label, icon: Icon }) => (
+  const NavButton = ({ id, label, icon: Icon, badge }) => (
     <button
       onClick={() => setCurrentPage(id)}
       className={`inline-flex items-center gap-2 px-3 py-2 text-sm font-medium rounded-md transition
@@ -62,6 +81,11 @@ export const AppLayout = ({ token, user, onLogout }) => {
     >
       <Icon className="h-4 w-4" />
       {label}
+      {badge > 0 && (
+        <span className="ml-1 inline-flex items-center justify-center rounded-full bg-indigo-600 px-1.5 text-[11px] font-semibold text-white">
+          {badge}
+        </span>
+      )}
     </button>
   );
 
@@ -87,7 +111,7 @@ export const AppLayout = ({ token, user, onLogout }) => {
               <div className="hidden sm:flex items-center gap-1">
                 <NavButton id="dashboard" label="Dashboard" icon={Squares2X2Icon} />
                 <NavButton id="ideas" label="Ideas" icon={LightBulbIcon} />
-                <NavButton id="tasks" label="Tasks" icon={CheckCircleIcon} />
+                <NavButton id="tasks" label="Tasks" icon={CheckCircleIcon} badge={taskCount} />
                 {isAdmin && <NavButton id="users" label="Users" icon={UsersIcon} />}
               </div>
             </div>
@@ -119,7 +143,7 @@ export const AppLayout = ({ token, user, onLogout }) => {
           <div className="sm:hidden pb-3 flex items-center gap-2">
             <NavButton id="dashboard" label="Dashboard" icon={Squares2X2Icon} />
             <NavButton id="ideas" label="Ideas" icon={LightBulbIcon} />
-            <NavButton id="tasks" label="Tasks" icon={CheckCircleIcon} />
+            <NavButton id="tasks" label="Tasks" icon={CheckCircleIcon} badge={taskCount} />
             {isAdmin && <NavButton id="users" label="Users" icon={UsersIcon} />}
           </div>
         </div>
@@ -1,5 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { apiService } from '../api/apiService';
+import { useChangeEvents } from '../api/eventStream';
 import { PriorityChart } from './PriorityChart';
 import {
   LightBulbIcon,
@@ -42,6 +43,19 @@ export const DashboardPage = ({ token, user, onNavigate, refreshKey }) => {
   const [stats, setStats] = useState({});
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const [eventTick, setEventTick] = useState(0);
+  const eventTimer = useRef();
+
+  // Reload the stats when an idea changes status (bursts are coalesced) and after the event stream reconnects
+  useEffect(() => () => clearTimeout(eventTimer.current), []);
+  useChangeEvents(
+    (event) => {
+      if (event.type !== 'IDEA_STATUS_CHANGED') return;
+      clearTimeout(eventTimer.current);
+      eventTimer.current = setTimeout(() => setEventTick((t) => t + 1), 1000);
+    },
+    () => setEventTick((t) => t + 1)
+  );
 
   useEffect(() => {
     let alive = true;
@@ -57,7 +71,7 @@ export const DashboardPage = ({ token, user, onNavigate, refreshKey }) => {
       }
     })();
     return () => { alive = false; };
-  }, [token, refreshKey]); // 👈 re-run fetch when AppLayout bumps the key
+  }, [token, refreshKey, eventTick]); // 👈 re-run fetch when AppLayout bumps the key or an idea changes status
 
   return (
     <div className="space-y-6">
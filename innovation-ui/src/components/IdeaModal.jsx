@@ -22,7 +22,7 @@ export const IdeaModal = ({ token, ideaToEdit, onClose, onSave }) => {
     const handleSubmit = async (e) => {
         e.preventDefault();
         const promise = isEditing 
-            ? apiService.updateIdea(token, ideaToEdit.id, { titre, description })
+            ? apiService.updateIdea(token, ideaToEdit.id, { titre, description }, ideaToEdit.version)
             : apiService.submitIdea(token, { titre, description });
 
         // 2. Use toast.promise to handle the async operation
@@ -32,7 +32,7 @@ export const IdeaModal = ({ token, ideaToEdit, onClose, onSave }) => {
                 onSave(); // Call the onSave callback on success
                 return isEditing ? 'Idea updated successfully!' : 'Idea submitted successfully!';
             },
-            error: isEditing ? 'Failed to update idea.' : 'Failed to submit idea.',
+            error: (err) => isEditing ? err.message : 'Failed to submit idea.',
         });
     };
 
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { apiService } from '../api/apiService';
+import { useChangeEvents } from '../api/eventStream';
 import {
   PencilSquareIcon,
   TrashIcon,
@@ -9,10 +10,14 @@ import {
 } from '@heroicons/react/24/outline';
 import toast from 'react-hot-toast';
 
+const PAGE_SIZE = 50;
+
 export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, priorityFilter }) => {
   const [ideas, setIdeas] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
+  const [nextCursor, setNextCursor] = useState(null);
+  const [loadingMore, setLoadingMore] = useState(false);
 
   const canManageIdeas =
     user?.groups?.includes('EM') || user?.groups?.includes('camunda-admin');
@@ -21,11 +26,13 @@ export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, p
     setLoading(true);
     setError('');
     try {
-      const data = await apiService.getIdeas(token, {
+      const page = await apiService.getIdeas(token, {
         status: statusFilter,
         priority: priorityFilter,
+        limit: PAGE_SIZE,
       });
-      setIdeas(data);
+      setIdeas(page.items);
+      setNextCursor(page.nextCursor);
     } catch (err) {
       setError('Could not fetch ideas. Your session may have expired.');
     } finally {
@@ -33,11 +40,39 @@ export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, p
     }
   };
 
+  const loadMore = async () => {
+    setLoadingMore(true);
+    try {
+      const page = await apiService.getIdeas(token, {
+        status: statusFilter,
+        priority: priorityFilter,
+        limit: PAGE_SIZE,
+        cursor: nextCursor,
+      });
+      setIdeas((list) => [...list, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      toast.error('Could not load more ideas.');
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
   useEffect(() => {
     fetchIdeas();
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [token, statusFilter, priorityFilter]);
 
+  // Status changes are pushed by the server; update the card instead of reloading the list, unless changes may have
+  // been missed while the event stream was disconnected
+  useChangeEvents(
+    (event) => {
+      if (event.type !== 'IDEA_STATUS_CHANGED') return;
+      setIdeas((list) => list.map((idea) => (idea.id === event.ideaId ? { ...idea, statut: event.statut } : idea)));
+    },
+    () => fetchIdeas()
+  );
+
   const handleDelete = (e, ideaId) => {
     e.stopPropagation();
     toast(
@@ -74,9 +109,15 @@ export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, p
     );
   };
 
-  const handleEdit = (e, idea) => {
+  // The list only holds summaries; the edit form needs the full idea
+  const handleEdit = async (e, idea) => {
     e.stopPropagation();
-    onEditIdea(idea);
+    try {
+      const details = await apiService.getIdeaDetails(token, idea.id);
+      onEditIdea(details.idea);
+    } catch (err) {
+      toast.error('Could not load the idea.');
+    }
   };
 
   const PriorityBadge = ({ value }) => {
@@ -154,11 +195,6 @@ export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, p
                     </span>
                   )}
                 </div>
-                {idea.description && (
-                  <p className="mt-2 text-sm text-gray-700 line-clamp-2">
-                    {idea.description}
-                  </p>
-                )}
               </div>
 
               {/* Right rail */}
@@ -201,6 +237,18 @@ export const IdeasPage = ({ token, user, onEditIdea, onViewIdea, statusFilter, p
           </div>
         ))}
 
+      {!loading && !error && nextCursor && (
+        <div className="flex justify-center">
+          <button
+            onClick={loadMore}
+            disabled={loadingMore}
+            className="px-4 py-2 text-sm font-medium text-indigo-700 bg-indigo-50 rounded-md hover:bg-indigo-100 disabled:opacity-50"
+          >
+            {loadingMore ? 'Loading...' : 'Load more'}
+          </button>
+        </div>
+      )}
+
       {!loading && !error && ideas.length === 0 && (
         <div className="text-center py-10 text-gray-500">
           No ideas found.
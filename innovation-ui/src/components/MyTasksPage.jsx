@@ -1,5 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { apiService } from '../api/apiService';
+import { useChangeEvents } from '../api/eventStream';
 import { TaskModal } from './TaskModal';
 import toast from 'react-hot-toast';
 import {
@@ -14,6 +15,9 @@ export const MyTasksPage = ({ token, user, ideaNameFilter, taskTypeFilter }) =>
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [selectedTaskDetail, setSelectedTaskDetail] = useState(null);
+  const refetchTimer = useRef();
+  // Admins see every task, whoever it is assigned to
+  const isAdmin = user?.groups?.includes('camunda-admin');
 
   const fetchAllTasks = async () => {
     setLoading(true);
@@ -42,6 +46,34 @@ export const MyTasksPage = ({ token, user, ideaNameFilter, taskTypeFilter }) =>
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [token, user, ideaNameFilter, taskTypeFilter]);
 
+  useEffect(() => () => clearTimeout(refetchTimer.current), []);
+
+  // Apply pushed task changes locally; new tasks need a refetch (to get their idea), and so does a reconnection of
+  // the event stream (changes may have been missed)
+  useChangeEvents(
+    (event) => {
+      if (!event.taskId || !user) return;
+      if (event.type === 'TASK_CREATED') {
+        clearTimeout(refetchTimer.current);
+        refetchTimer.current = setTimeout(fetchAllTasks, 500);
+        return;
+      }
+      const detail = [...assignedTasks, ...groupTasks].find((t) => t.task.id === event.taskId);
+      const others = (list) => list.filter((t) => t.task.id !== event.taskId);
+      setAssignedTasks(others);
+      setGroupTasks(others);
+      if (event.type === 'TASK_ASSIGNED' && detail) {
+        const updated = { ...detail, task: { ...detail.task, assignee: event.assignee } };
+        // Same split as fetchAllTasks; a task assigned to someone else stays visible to admins only
+        if (event.assignee === null) setGroupTasks((list) => [updated, ...list]);
+        else if (isAdmin || event.assignee === user.username) setAssignedTasks((list) => [updated, ...list]);
+      }
+    },
+    () => {
+      if (user) fetchAllTasks();
+    }
+  );
+
   const handleClaim = async (taskId) => {
     const promise = apiService.claimTask(token, taskId);
     toast.promise(promise, {
@@ -23,7 +23,9 @@ export const TaskModal = ({ details, token, onClose, onTaskCompleted }) => {
             const initialIdea = details.idea;
 
             // If it's the MVP task, we need to fetch the complete details for the recap.
-            if (initialTask.taskDefinitionKey === 'Activity_0a8a9ls' && initialIdea?.id) {
+            // Inbox rows only carry the idea summary, so the description is fetched here as well.
+            const needsFullIdea = initialTask.taskDefinitionKey === 'Activity_0a8a9ls' || initialIdea?.description === undefined;
+            if (needsFullIdea && initialIdea?.id) {
                 try {
                     // Fetch the FullIdeaDetailsDto using the ideaId we already have
                     const fullIdeaData = await apiService.getIdeaDetails(token, initialIdea.id);
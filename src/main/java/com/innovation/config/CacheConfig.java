@@ -0,0 +1,50 @@
+package com.innovation.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import com.innovation.service.IdeaCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Enables the Hibernate second-level cache for Idea, POC and Developpement when {@code app.cache.idea.mode} is
+ * {@code second-level}. The regions are Caffeine caches (through JCache) with the same size and time-to-live
+ * limits as the service-level cache of {@link IdeaCache}.
+ */
+@Configuration
+public class CacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer ideaSecondLevelCache(@Value("${app.cache.idea.mode:service}") String mode,
+                                                              @Value("${app.cache.idea.maximum-size:10000}") long maximumSize,
+                                                              @Value("${app.cache.idea.ttl:10m}") Duration ttl) {
+        return properties -> {
+            if (IdeaCache.Mode.fromProperty(mode) != IdeaCache.Mode.SECOND_LEVEL) {
+                properties.put("hibernate.cache.use_second_level_cache", false);
+                return;
+            }
+            CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+            for (String region : new String[]{IdeaCache.IDEA_REGION, IdeaCache.POC_REGION, IdeaCache.DEVELOPPEMENT_REGION}) {
+                if (cacheManager.getCache(region) == null) {
+                    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+                    configuration.setMaximumSize(OptionalLong.of(maximumSize));
+                    configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+                    configuration.setStatisticsEnabled(true);
+                    cacheManager.createCache(region, configuration);
+                }
+            }
+            properties.put("hibernate.cache.use_second_level_cache", true);
+            properties.put("hibernate.cache.region.factory_class", "jcache");
+            properties.put("hibernate.javax.cache.cache_manager", cacheManager);
+            properties.put("hibernate.javax.cache.missing_cache_strategy", "create");
+            properties.put("hibernate.generate_statistics", true);
+        };
+    }
+}
@@ -1,10 +1,12 @@
 package com.innovation.config;
 
 import com.innovation.security.JwtRequestFilter;
+import com.innovation.security.RateLimitFilter;
 import jakarta.servlet.Filter;
 import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
 
 @Configuration
 public class FilterConfig {
@@ -15,6 +17,17 @@ public class FilterConfig {
         registrationBean.setFilter(jwtRequestFilter);
         // This will apply the filter to ALL requests
         registrationBean.addUrlPatterns("/*");
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE - 1);
         return registrationBean;
     }
-}
\ No newline at end of file
+
+    @Bean
+    public FilterRegistrationBean<Filter> rateLimitFilterRegistration(RateLimitFilter rateLimitFilter) {
+        FilterRegistrationBean<Filter> registrationBean = new FilterRegistrationBean<>();
+        registrationBean.setFilter(rateLimitFilter);
+        registrationBean.addUrlPatterns("/api/*");
+        // After the JWT filter, which sets the username the buckets are keyed by
+        registrationBean.setOrder(Ordered.LOWEST_PRECEDENCE);
+        return registrationBean;
+    }
+}
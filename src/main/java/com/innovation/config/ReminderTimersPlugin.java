@@ -0,0 +1,79 @@
+package com.innovation.config;
+
+import com.innovation.service.ReminderSweeper;
+import com.innovation.service.SetTaskDueDateListener;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.impl.bpmn.behavior.UserTaskActivityBehavior;
+import org.camunda.bpm.engine.impl.bpmn.helper.BpmnProperties;
+import org.camunda.bpm.engine.impl.bpmn.parser.AbstractBpmnParseListener;
+import org.camunda.bpm.engine.impl.bpmn.parser.BpmnParseListener;
+import org.camunda.bpm.engine.impl.cfg.AbstractProcessEnginePlugin;
+import org.camunda.bpm.engine.impl.cfg.ProcessEngineConfigurationImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ActivityImpl;
+import org.camunda.bpm.engine.impl.pvm.process.ScopeImpl;
+import org.camunda.bpm.engine.impl.util.xml.Element;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+
+/**
+ * Leaves the reminder timers out of the deployed process when {@code app.reminders.mode} is {@code sweeper}, for
+ * {@link ReminderSweeper} to send the reminders instead.
+ * <p>
+ * The BPMN file is unchanged: the timer boundary events attached to the reminded user tasks are dropped when the
+ * engine parses a process definition, so the switch applies to every deployed version, and no timer job is created
+ * when one of these tasks starts. The tasks whose timer compared the {@code dateEcheance} variable get it as their
+ * due date instead, which the sweeper queries. Timer jobs created before the switch fire once more, without being
+ * recreated.
+ */
+@Component
+public class ReminderTimersPlugin extends AbstractProcessEnginePlugin {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderTimersPlugin.class);
+
+    private final boolean sweeperMode;
+    private final SetTaskDueDateListener setTaskDueDateListener;
+
+    public ReminderTimersPlugin(@Value("${app.reminders.mode:timers}") String mode,
+                                SetTaskDueDateListener setTaskDueDateListener) {
+        this.sweeperMode = "sweeper".equalsIgnoreCase(mode);
+        this.setTaskDueDateListener = setTaskDueDateListener;
+    }
+
+    @Override
+    public void preInit(ProcessEngineConfigurationImpl configuration) {
+        if (!sweeperMode) {
+            return;
+        }
+        if (configuration.getCustomPostBPMNParseListeners() == null) {
+            configuration.setCustomPostBPMNParseListeners(new ArrayList<>());
+        }
+        configuration.getCustomPostBPMNParseListeners().add(parseListener());
+        LOGGER.info("Reminder timers disabled: deadline reminders are sent by the reminder sweeper");
+    }
+
+    private BpmnParseListener parseListener() {
+        return new AbstractBpmnParseListener() {
+
+            @Override
+            public void parseUserTask(Element userTaskElement, ScopeImpl scope, ActivityImpl activity) {
+                if (ReminderSweeper.DUE_DATE_REMINDERS.containsKey(activity.getId())) {
+                    // Already declared on some of them in the BPMN: setting the same due date twice is harmless
+                    ((UserTaskActivityBehavior) activity.getActivityBehavior()).getTaskDefinition()
+                            .addTaskListener(TaskListener.EVENTNAME_CREATE, setTaskDueDateListener);
+                }
+            }
+
+            @Override
+            public void parseBoundaryTimerEventDefinition(Element timerEventDefinition, boolean interrupting, ActivityImpl timerActivity) {
+                String attachedTo = timerActivity.getEventScope().getId();
+                if (ReminderSweeper.DUE_DATE_REMINDERS.containsKey(attachedTo) || ReminderSweeper.QUALIFICATION_TASK.equals(attachedTo)) {
+                    timerActivity.getEventScope().getProperties().get(BpmnProperties.TIMER_DECLARATIONS).remove(timerActivity.getId());
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,48 @@
+package com.innovation.controller;
+
+import com.innovation.service.PhaseAnalyticsService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    private PhaseAnalyticsService phaseAnalyticsService;
+
+    // Duration percentiles (seconds) of qualification, POC and development, per month; defaults to the last 12 months
+    @GetMapping("/phase-durations")
+    public ResponseEntity<?> getPhaseDurations(
+            @RequestParam(required = false) String from, // yyyy-MM
+            @RequestParam(required = false) String to) {
+        try {
+            YearMonth toMonth = to != null ? YearMonth.parse(to) : YearMonth.now();
+            YearMonth fromMonth = from != null ? YearMonth.parse(from) : toMonth.minusMonths(11);
+            if (fromMonth.isAfter(toMonth)) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("from must not be after to.");
+            }
+            return ResponseEntity.ok(phaseAnalyticsService.getDurations(fromMonth, toMonth));
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Months must be formatted as yyyy-MM.");
+        }
+    }
+
+    // Runs the rollup now instead of waiting for the schedule (admin only)
+    @PostMapping("/phase-durations/rollup")
+    public ResponseEntity<?> rollupPhaseDurations(HttpServletRequest request) {
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (userGroups == null || !userGroups.contains("camunda-admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        phaseAnalyticsService.rollup();
+        return ResponseEntity.ok().build();
+    }
+}
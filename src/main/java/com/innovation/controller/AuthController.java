@@ -1,9 +1,10 @@
 package com.innovation.controller;
 
 import com.innovation.security.JwtUtil;
+import com.innovation.security.TokenGenerations;
+import com.innovation.service.IdentityDirectory;
 import jakarta.servlet.http.HttpServletRequest;
 import org.camunda.bpm.engine.IdentityService;
-import org.camunda.bpm.engine.identity.Group;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,7 +14,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -21,18 +21,23 @@ public class AuthController {
     @Autowired
     private IdentityService identityService;
 
+    @Autowired
+    private IdentityDirectory identityDirectory;
+
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenGenerations tokenGenerations;
+
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody Map<String, String> credentials) {
         String username = credentials.get("username");
         String password = credentials.get("password");
         boolean isAuthenticated = identityService.checkPassword(username, password);
         if (isAuthenticated) {
-            List<String> groupIds = identityService.createGroupQuery().groupMember(username).list()
-                    .stream().map(Group::getId).collect(Collectors.toList());
-            String token = jwtUtil.generateToken(username, groupIds);
+            List<String> groupIds = identityDirectory.getGroupIds(username);
+            String token = jwtUtil.generateToken(username, groupIds, tokenGenerations.current(username));
             return ResponseEntity.ok(Map.of("token", token));
         } else {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid username or password");
@@ -40,10 +45,13 @@ public class AuthController {
     }
 
     @GetMapping("/me")
-    public ResponseEntity<?> getCurrentUser(@RequestHeader("Authorization") String authorizationHeader) {
-        String token = authorizationHeader.substring(7);
-        String username = jwtUtil.extractUsername(token);
-        List<String> groups = jwtUtil.extractGroups(token);
+    public ResponseEntity<?> getCurrentUser(HttpServletRequest request) {
+        // Set by JwtRequestFilter only for a valid, current session token
+        String username = (String) request.getAttribute("username");
+        List<String> groups = (List<String>) request.getAttribute("userGroups");
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
         return ResponseEntity.ok(Map.of("username", username, "groups", groups));
     }
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.innovation.controller;
+
+import com.innovation.service.IdeaCache;
+import com.innovation.service.IdentityDirectory;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+public class CacheController {
+
+    @Autowired
+    private IdeaCache ideaCache;
+
+    @Autowired
+    private IdentityDirectory identityDirectory;
+
+    // Hit / miss / eviction counters of the idea cache (admin only)
+    @GetMapping("/stats")
+    public ResponseEntity<?> getCacheStats(HttpServletRequest request) {
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (userGroups == null || !userGroups.contains("camunda-admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(ideaCache.getStatistics());
+    }
+
+    // Hit rate and size of the user / group caches (admin only)
+    @GetMapping("/identity/stats")
+    public ResponseEntity<?> getIdentityCacheStats(HttpServletRequest request) {
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (userGroups == null || !userGroups.contains("camunda-admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(identityDirectory.getStatistics());
+    }
+}
@@ -2,10 +2,12 @@ package com.innovation.controller;
 
 import com.innovation.domain.Developpement;
 import com.innovation.repository.DeveloppementRepository;
-import org.camunda.bpm.engine.IdentityService;
+import com.innovation.service.IdentityDirectory;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.identity.User;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -17,7 +19,7 @@ import java.util.Map;
 public class DeveloppementController {
 
     @Autowired
-    private IdentityService identityService;
+    private IdentityDirectory identityDirectory;
 
     @Autowired
     private DeveloppementRepository developpementRepository;
@@ -28,7 +30,7 @@ public class DeveloppementController {
     @GetMapping("/users")
     public ResponseEntity<List<User>> getAllUsers() {
         // This now queries only for users who are members of the "DEV" group.
-        List<User> users = identityService.createUserQuery().memberOfGroup("DEV").list();
+        List<User> users = identityDirectory.getMembers("DEV");
         return ResponseEntity.ok(users);
     }
 
@@ -36,7 +38,8 @@ public class DeveloppementController {
     @PostMapping("/process-instances/{processInstanceId}/equipe")
     public ResponseEntity<?> setEquipe(
             @PathVariable String processInstanceId,
-            @RequestBody Map<String, Object> request // Use a more flexible Map
+            @RequestBody Map<String, Object> request, // Use a more flexible Map
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch // developpement.version
     ) {
         // Correctly cast the incoming values
         String chefDeProjet = (String) request.get("chefDeProjet");
@@ -50,10 +53,19 @@ public class DeveloppementController {
         Developpement developpement = developpementRepository.findByIdeaId(ideaId)
                 .orElseThrow(() -> new RuntimeException("Developpement not found for idea id: " + ideaId));
 
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        if (expectedVersion != null && !expectedVersion.equals(developpement.getVersion())) {
+            return ETags.conflict(ifMatch, "Developpement " + developpement.getId());
+        }
+
         developpement.setChefDeProjet(chefDeProjet);
         developpement.setMembresEquipe(String.join(",", membresEquipe));
-        developpementRepository.save(developpement);
+        try {
+            developpement = developpementRepository.save(developpement);
+        } catch (OptimisticLockingFailureException e) {
+            return ETags.conflict(ifMatch, "Developpement " + developpement.getId());
+        }
 
-        return ResponseEntity.ok().build();
+        return ResponseEntity.ok().eTag(ETags.of(developpement.getVersion())).build();
     }
 }
\ No newline at end of file
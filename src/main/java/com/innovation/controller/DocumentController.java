@@ -1,23 +1,21 @@
 package com.innovation.controller;
 
 import com.innovation.domain.Document;
-import com.innovation.domain.Idea;
 import com.innovation.repository.DocumentRepository;
-import com.innovation.repository.IdeaRepository;
-import com.innovation.service.FileStorageService;
+import com.innovation.service.IdeaService;
 import org.camunda.bpm.engine.RuntimeService; // <-- Add this import
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.Resource;
-import org.springframework.core.io.UrlResource;
-import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.NoSuchFileException; // <-- Add this import
-import java.time.LocalDateTime;
 import java.util.Collections; // <-- Add this import
 import java.util.List;
 
@@ -25,14 +23,11 @@ import java.util.List;
 @RequestMapping("/api")
 public class DocumentController {
 
-    @Autowired
-    private FileStorageService fileStorageService;
-
     @Autowired
     private DocumentRepository documentRepository;
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaService ideaService;
 
     @Autowired
     private RuntimeService runtimeService;
@@ -48,21 +43,9 @@ public class DocumentController {
             throw new RuntimeException("Could not find ideaId for process instance: " + processInstanceId);
         }
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
-        String fileName = fileStorageService.storeFile(file);
+        Document document = ideaService.addDocument(ideaId, file);
 
-        Document document = new Document();
-        document.setIdea(idea);
-        document.setFileName(fileName);
-        document.setFileType(file.getContentType());
-        document.setFilePath("uploads/" + fileName);
-        document.setUploadDate(LocalDateTime.now());
-
-        documentRepository.save(document);
-
-        return ResponseEntity.ok().body("File uploaded successfully: " + fileName);
+        return ResponseEntity.ok().body("File uploaded successfully: " + document.getFileName());
     }
 
     // This is the NEW endpoint for fetching documents
@@ -76,37 +59,28 @@ public class DocumentController {
         return ResponseEntity.ok(documents);
     }
 
+    // Range requests and revalidation (see FileDownloads); the ETag of a stored content is its SHA-256
     @GetMapping("/documents/{documentId}/download")
-    public ResponseEntity<Resource> downloadFile(@PathVariable Long documentId) {
+    public void downloadFile(@PathVariable Long documentId, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
         Document document = documentRepository.findById(documentId)
                 .orElseThrow(() -> new RuntimeException("Document not found with id: " + documentId));
-        try {
-            Path filePath = Paths.get(document.getFilePath()).normalize();
-            Resource resource = new UrlResource(filePath.toUri());
-
-            if (resource.exists()) {
-                return ResponseEntity.ok()
-                        .contentType(MediaType.parseMediaType(document.getFileType()))
-                        .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + document.getFileName() + "\"")
-                        .body(resource);
-            } else {
-                throw new RuntimeException("File not found: " + document.getFileName());
-            }
-        } catch (Exception e) {
-            throw new RuntimeException("File not found: " + document.getFileName(), e);
+        Path filePath = Paths.get(document.getFilePath()).normalize();
+        if (!Files.isRegularFile(filePath)) {
+            throw new RuntimeException("File not found: " + document.getFileName());
         }
+        // Files stored before content addressing have no hash, their content never changes either
+        String etag = document.getContentHash() != null
+                ? ETags.of(document.getContentHash())
+                : ETags.of("doc", document.getId(), Files.size(filePath));
+        String contentType = document.getFileType() != null ? document.getFileType() : MediaType.APPLICATION_OCTET_STREAM_VALUE;
+        FileDownloads.serve(filePath, etag, contentType, "attachment; filename=\"" + document.getFileName() + "\"",
+                request, response);
     }
+
     @DeleteMapping("/documents/{documentId}")
     public ResponseEntity<?> deleteDocument(@PathVariable Long documentId) {
-        // Find the document record in the database
-        Document document = documentRepository.findById(documentId)
-                .orElseThrow(() -> new RuntimeException("Document not found with id: " + documentId));
-
-        // Delete the physical file from the server
-        fileStorageService.deleteFile(document.getFileName());
-
-        // Delete the record from the database
-        documentRepository.delete(document);
+        ideaService.deleteDocument(documentId);
 
         return ResponseEntity.ok().body("Document deleted successfully.");
     }
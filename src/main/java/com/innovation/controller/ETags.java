@@ -0,0 +1,75 @@
+package com.innovation.controller;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Strong ETags built from the {@code @Version} of Idea, POC and Developpement (or the content hash of a document), and
+ * the checks of the conditional request headers that carry them back.
+ */
+final class ETags {
+
+    // Version that no entity has: an If-Match that is not one of our tags never matches
+    private static final long NO_VERSION = -1L;
+
+    private ETags() {
+    }
+
+    // "3" for a single version, "3.1.-.2.15" for the parts of a composite representation (null parts as "-")
+    static String of(Object... parts) {
+        StringBuilder tag = new StringBuilder("\"");
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                tag.append('.');
+            }
+            tag.append(parts[i] == null ? "-" : parts[i]);
+        }
+        return tag.append('"').toString();
+    }
+
+    /**
+     * Version required by an If-Match header: null when the header is absent or {@code *} (no check), otherwise the
+     * version of the tag. Weak tags, lists and foreign values are answered with a version that never matches, so the
+     * update is refused rather than applied unchecked.
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.length() < 3 || tag.charAt(0) != '"' || tag.charAt(tag.length() - 1) != '"') {
+            return NO_VERSION;
+        }
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return NO_VERSION;
+        }
+    }
+
+    // Weak comparison, as If-None-Match requires
+    static boolean noneMatchFails(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 412 when the client sent If-Match, otherwise 409: the entity changed between its read and the write
+    static ResponseEntity<String> conflict(String ifMatch, String what) {
+        HttpStatus status = ifMatch != null ? HttpStatus.PRECONDITION_FAILED : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).body(what + " was modified by someone else, reload it and retry.");
+    }
+}
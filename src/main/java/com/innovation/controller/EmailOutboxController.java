@@ -0,0 +1,30 @@
+package com.innovation.controller;
+
+import com.innovation.service.EmailOutbox;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/mail/outbox")
+public class EmailOutboxController {
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    // Number of outbox emails per status (admin only)
+    @GetMapping("/stats")
+    public ResponseEntity<?> getOutboxStats(HttpServletRequest request) {
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (userGroups == null || !userGroups.contains("camunda-admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(emailOutbox.getStatistics());
+    }
+}
@@ -0,0 +1,55 @@
+package com.innovation.controller;
+
+import com.innovation.security.JwtUtil;
+import com.innovation.security.TokenGenerations;
+import com.innovation.service.ChangeEventBroadcaster;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/events")
+public class EventController {
+
+    @Autowired
+    private ChangeEventBroadcaster changeEventBroadcaster;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TokenGenerations tokenGenerations;
+
+    // Ticket to open the stream below, requested with the session token before each (re)connection
+    @PostMapping("/ticket")
+    public ResponseEntity<?> createTicket(HttpServletRequest request) {
+        String username = (String) request.getAttribute("username");
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        String ticket = jwtUtil.generateEventTicket(username, userGroups, tokenGenerations.current(username));
+        return ResponseEntity.ok(Map.of("ticket", ticket));
+    }
+
+    // Server-Sent Events stream of task and idea changes visible to the caller, opened with ?ticket=
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> subscribe(HttpServletRequest request) {
+        String username = (String) request.getAttribute("username");
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (username == null) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(changeEventBroadcaster.subscribe(username, userGroups));
+    }
+}
@@ -2,13 +2,22 @@ package com.innovation.controller;
 
 import com.innovation.domain.Idea;
 import com.innovation.dto.FullIdeaDetailsDto;
+import com.innovation.dto.IdeaFilter;
+import com.innovation.dto.IdeaPageDto;
+import com.innovation.dto.IdeaSummaryDto;
+import com.innovation.service.IdeaSearchService;
 import com.innovation.service.IdeaService;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Map;
 
@@ -19,6 +28,9 @@ public class IdeaController {
     @Autowired
     private IdeaService ideaService;
 
+    @Autowired
+    private IdeaSearchService ideaSearchService;
+
     private boolean isEmetteurOrAdmin(HttpServletRequest request) {
         List<String> userGroups = (List<String>) request.getAttribute("userGroups");
         return userGroups != null && (userGroups.contains("EM") || userGroups.contains("camunda-admin"));
@@ -32,29 +44,78 @@ public class IdeaController {
     }
 
     @GetMapping
-    public ResponseEntity<List<Idea>> getIdeas(
-            @RequestParam(required = false) String status,
-            @RequestParam(required = false) String priority,
+    public ResponseEntity<?> getIdeas(
+            @RequestParam(required = false) List<String> status, // Repeated or comma-separated
+            @RequestParam(required = false) List<String> priority,
+            @RequestParam(required = false) String createdBy,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate createdTo,
+            @RequestParam(required = false) String q, // Text in the title or description
+            @RequestParam(required = false) Integer limit, // When set, the response is a keyset-paginated page of summaries
+            @RequestParam(required = false) String cursor,
             HttpServletRequest request) {
 
         List<String> userGroups = (List<String>) request.getAttribute("userGroups");
         boolean isAdmin = userGroups != null && userGroups.contains("camunda-admin");
         boolean isEmetteur = userGroups != null && userGroups.contains("EM");
 
-        if (isEmetteur && !isAdmin) {
-            String me = currentUsername(request);
-            List<Idea> ideas = ideaService.getFilteredIdeasForCreator(status, priority, me);
-            return ResponseEntity.ok(ideas);
-        } else {
-            List<Idea> ideas = ideaService.getFilteredIdeas(status, priority);
-            return ResponseEntity.ok(ideas);
+        IdeaFilter filter = new IdeaFilter();
+        filter.setStatuts(status);
+        filter.setPriorities(priority);
+        filter.setCreatedFrom(createdFrom);
+        filter.setCreatedTo(createdTo);
+        filter.setText(q);
+        // Emitters only see their own ideas
+        filter.setCreatedBy(isEmetteur && !isAdmin ? currentUsername(request) : createdBy);
+
+        if (limit != null) {
+            try {
+                IdeaPageDto page = ideaService.getIdeaPage(filter, cursor, limit);
+                return ResponseEntity.ok(page);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+            }
         }
+
+        List<Idea> ideas = ideaService.getFilteredIdeas(filter);
+        return ResponseEntity.ok(ideas);
+    }
+
+    // Full-text search on titles and descriptions, best matches first
+    @GetMapping("/search")
+    public ResponseEntity<List<IdeaSummaryDto>> searchIdeas(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "20") int limit,
+            HttpServletRequest request) {
+
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        boolean isAdmin = userGroups != null && userGroups.contains("camunda-admin");
+        boolean isEmetteur = userGroups != null && userGroups.contains("EM");
+
+        String createdBy = isEmetteur && !isAdmin ? currentUsername(request) : null;
+        return ResponseEntity.ok(ideaSearchService.search(q, createdBy, limit));
     }
 
+    // ETag from the versions of the idea, its POC, developpement and documents. A revalidation that still matches
+    // reads only those versions and gets a 304 without body; no-cache makes browsers revalidate on every use.
+    // It can be sent back as the If-Match of PUT /api/ideas/{ideaId}
     @GetMapping("/{ideaId}")
-    public ResponseEntity<FullIdeaDetailsDto> getIdeaById(@PathVariable Long ideaId) {
+    public ResponseEntity<FullIdeaDetailsDto> getIdeaById(@PathVariable Long ideaId,
+                                                          @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        if (ifNoneMatch != null) {
+            Object[] version = ideaService.getIdeaDetailsVersion(ideaId);
+            if (version != null && ETags.noneMatchFails(ifNoneMatch, ETags.of(version))) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                        .eTag(ETags.of(version))
+                        .cacheControl(CacheControl.noCache().cachePrivate())
+                        .build();
+            }
+        }
         FullIdeaDetailsDto ideaDetails = ideaService.getIdeaDetails(ideaId);
-        return ResponseEntity.ok(ideaDetails);
+        return ResponseEntity.ok()
+                .eTag(ETags.of(IdeaService.getIdeaDetailsVersion(ideaDetails)))
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(ideaDetails);
     }
 
     @PostMapping
@@ -72,12 +133,30 @@ public class IdeaController {
     }
 
     @PutMapping("/{ideaId}")
-    public ResponseEntity<?> updateIdea(@PathVariable Long ideaId, @RequestBody Idea ideaDetails, HttpServletRequest request) {
+    public ResponseEntity<?> updateIdea(@PathVariable Long ideaId, @RequestBody Idea ideaDetails,
+                                        @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                        HttpServletRequest request) {
         if (!isEmetteurOrAdmin(request)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Only Emetteur or Admin users can update ideas.");
         }
-        Idea updatedIdea = ideaService.updateIdea(ideaId, ideaDetails);
-        return ResponseEntity.ok(updatedIdea);
+        try {
+            Idea updatedIdea = ideaService.updateIdea(ideaId, ideaDetails, expectedIdeaVersion(ideaId, ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedIdea.getVersion())).body(updatedIdea);
+        } catch (OptimisticLockingFailureException e) {
+            return ETags.conflict(ifMatch, "Idea " + ideaId);
+        }
+    }
+
+    // If-Match of the PUT: the ETag of GET /api/ideas/{ideaId}, accepted while it equals the current tag of the whole
+    // details view, or the ETag of a previous PUT, i.e. idea.version. Any other value never matches
+    private Long expectedIdeaVersion(Long ideaId, String ifMatch) {
+        if (ifMatch != null) {
+            Object[] version = ideaService.getIdeaDetailsVersion(ideaId);
+            if (version != null && ETags.of(version).equals(ifMatch.trim())) {
+                return (Long) version[0];
+            }
+        }
+        return ETags.expectedVersion(ifMatch);
     }
 
     @DeleteMapping("/{ideaId}")
@@ -3,6 +3,8 @@ package com.innovation.controller;
 import com.innovation.domain.POC;
 import com.innovation.service.PocService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
@@ -15,10 +17,16 @@ public class PocController {
     @Autowired
     private PocService pocService;
 
+    // If-Match carries the ETag of the POC, i.e. its version (poc.version in the idea details)
     @PutMapping("/{pocId}")
-    public ResponseEntity<POC> updatePoc(@PathVariable Long pocId, @RequestBody Map<String, Object> updates) {
-        POC updatedPoc = pocService.updatePoc(pocId, updates);
-        return ResponseEntity.ok(updatedPoc);
+    public ResponseEntity<?> updatePoc(@PathVariable Long pocId, @RequestBody Map<String, Object> updates,
+                                       @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        try {
+            POC updatedPoc = pocService.updatePoc(pocId, updates, ETags.expectedVersion(ifMatch));
+            return ResponseEntity.ok().eTag(ETags.of(updatedPoc.getVersion())).body(updatedPoc);
+        } catch (OptimisticLockingFailureException e) {
+            return ETags.conflict(ifMatch, "POC " + pocId);
+        }
     }
 
     @PostMapping("/{pocId}/conclude")
@@ -0,0 +1,30 @@
+package com.innovation.controller;
+
+import com.innovation.security.RateLimitFilter;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/rate-limit")
+public class RateLimitController {
+
+    @Autowired
+    private RateLimitFilter rateLimitFilter;
+
+    // Allowed / rejected requests per limited route (admin only)
+    @GetMapping("/stats")
+    public ResponseEntity<?> getRateLimitStats(HttpServletRequest request) {
+        List<String> userGroups = (List<String>) request.getAttribute("userGroups");
+        if (userGroups == null || !userGroups.contains("camunda-admin")) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
+        }
+        return ResponseEntity.ok(rateLimitFilter.getStatistics());
+    }
+}
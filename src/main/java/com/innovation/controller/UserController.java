@@ -1,5 +1,7 @@
 package com.innovation.controller;
 
+import com.innovation.security.TokenGenerations;
+import com.innovation.service.IdentityDirectory;
 import jakarta.servlet.http.HttpServletRequest;
 import org.camunda.bpm.engine.IdentityService;
 import org.camunda.bpm.engine.identity.Group;
@@ -19,6 +21,14 @@ public class UserController {
     @Autowired
     private IdentityService identityService;
 
+    // Cached reads; the write paths below invalidate the user they change
+    @Autowired
+    private IdentityDirectory identityDirectory;
+
+    // Revokes the tokens of a user whose rights or password changed
+    @Autowired
+    private TokenGenerations tokenGenerations;
+
     // Helper method to check for admin privileges
     private boolean isAdmin(HttpServletRequest request) {
         List<String> userGroups = (List<String>) request.getAttribute("userGroups");
@@ -30,7 +40,7 @@ public class UserController {
         if (!isAdmin(request)) {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
-        List<User> users = identityService.createUserQuery().list();
+        List<User> users = identityDirectory.getAllUsers();
         return ResponseEntity.ok(users);
     }
 
@@ -46,6 +56,7 @@ public class UserController {
         newUser.setEmail(userData.get("email"));
         newUser.setPassword(userData.get("password"));
         identityService.saveUser(newUser);
+        identityDirectory.invalidateUser(newUser.getId());
 
         return ResponseEntity.status(HttpStatus.CREATED).body(newUser);
     }
@@ -64,10 +75,15 @@ public class UserController {
         user.setFirstName(userData.get("firstName"));
         user.setLastName(userData.get("lastName"));
         user.setEmail(userData.get("email"));
-        if (userData.get("password") != null && !userData.get("password").isEmpty()) {
+        boolean passwordChanged = userData.get("password") != null && !userData.get("password").isEmpty();
+        if (passwordChanged) {
             user.setPassword(userData.get("password"));
         }
         identityService.saveUser(user);
+        identityDirectory.invalidateUser(userId);
+        if (passwordChanged) {
+            tokenGenerations.bump(userId);
+        }
 
         return ResponseEntity.ok(user);
     }
@@ -78,6 +94,8 @@ public class UserController {
             return ResponseEntity.status(HttpStatus.FORBIDDEN).build();
         }
         identityService.deleteUser(userId);
+        identityDirectory.invalidateUser(userId);
+        tokenGenerations.bump(userId);
         return ResponseEntity.ok().build();
     }
 
@@ -99,7 +117,7 @@ public class UserController {
         }
 
         // Query Camunda for the groups this specific user is a member of
-        List<Group> userGroups = identityService.createGroupQuery().groupMember(userId).list();
+        List<Group> userGroups = identityDirectory.getGroups(userId);
 
         return ResponseEntity.ok(userGroups);
     }
@@ -121,6 +139,8 @@ public class UserController {
         for (String groupId : groupIds) {
             identityService.createMembership(userId, groupId);
         }
+        identityDirectory.invalidateUser(userId);
+        tokenGenerations.bump(userId);
 
         return ResponseEntity.ok().build();
     }
@@ -0,0 +1,19 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+// Position of an incremental job (analytics rollup, reminder sweep): everything before it has been processed
+@Entity
+@Data
+@Table(name = "analytics_watermark")
+public class AnalyticsWatermark {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    private Date position;
+}
@@ -1,17 +1,28 @@
 package com.innovation.domain;
 
+import com.innovation.service.IdeaCache;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IdeaCache.DEVELOPPEMENT_REGION)
 public class Developpement {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock, checked against the If-Match of the team endpoint
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     private LocalDate dateLancement;
     private LocalDate dateFin;
     private String description;
@@ -17,6 +17,11 @@ public class Document {
     private String fileType;
     private LocalDateTime uploadDate;
 
+    // SHA-256 of the content, key of its StoredBlob; null for files stored before content addressing
+    @Column(length = 64)
+    private String contentHash;
+    private Long fileSize;
+
     @ManyToOne
     @JoinColumn(name = "idea_id")
     private Idea idea;
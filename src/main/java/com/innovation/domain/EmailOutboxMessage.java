@@ -0,0 +1,54 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Email waiting to be sent, written in the transaction that decided to send it and sent after its commit by
+ * {@link com.innovation.service.EmailOutbox}. Status: PENDING, SENDING (claimed by a dispatcher), SENT or FAILED
+ * (retries exhausted).
+ */
+@Entity
+@Data
+@Table(name = "email_outbox", indexes = {
+        @Index(name = "idx_email_outbox_due", columnList = "status, next_attempt_at, id")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_email_outbox_dedup_key", columnNames = "dedup_key")
+})
+public class EmailOutboxMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // At most one email per key, e.g. processInstanceId:activityId:day for deadline alerts
+    @Column(length = 200)
+    private String dedupKey;
+
+    private String recipient;
+    private String sender;
+    private String subject;
+
+    // Digests list many alerts: no length limit
+    @Lob
+    private String body;
+
+    private String status;
+
+    // Set with status SENDING, identifies the batch of the dispatcher that claimed the message
+    @Column(length = 36)
+    private String claimToken;
+
+    // When the dispatcher claimed it: a claim older than app.mail.outbox.claim-timeout is considered abandoned
+    private LocalDateTime claimedAt;
+
+    private int attempts;
+    private LocalDateTime nextAttemptAt;
+    private LocalDateTime createdAt;
+    private LocalDateTime sentAt;
+
+    @Column(length = 1000)
+    private String lastError;
+}
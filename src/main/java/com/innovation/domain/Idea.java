@@ -1,20 +1,49 @@
 package com.innovation.domain;
 
+import com.innovation.service.IdeaCache;
+import com.innovation.service.IdeaCacheListener;
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 import java.time.LocalDateTime;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IdeaCache.IDEA_REGION)
+@EntityListeners(IdeaCacheListener.class)
+// Updates only write the changed columns, so editing an idea never overwrites a concurrent status transition
+@DynamicUpdate
+// Composite indexes for the idea list: one equality filter followed by the (dateCreation, id) keyset order
+@Table(indexes = {
+        @Index(name = "idx_idea_date_creation", columnList = "date_creation, id"),
+        @Index(name = "idx_idea_statut_date", columnList = "statut, date_creation, id"),
+        @Index(name = "idx_idea_priority_date", columnList = "priority, date_creation, id"),
+        @Index(name = "idx_idea_created_by_date", columnList = "created_by, statut, date_creation, id"),
+        @Index(name = "idx_idea_statut_priorisation", columnList = "statut, date_priorisation, id")
+})
 public class Idea {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock, also the ETag of the entity; rows created before this column start at 0
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     private String titre;
 
     private String description;
@@ -1,17 +1,28 @@
 package com.innovation.domain;
 
+import com.innovation.service.IdeaCache;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.time.LocalDate;
 
 @Entity
 @Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = IdeaCache.POC_REGION)
 public class POC {
 
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    // Optimistic lock, sent as the ETag of PUT /api/pocs/{id}
+    @Version
+    @ColumnDefault("0")
+    private Long version;
+
     private LocalDate dateDebut;
     private LocalDate dateFin;
     private String businessModel;
@@ -0,0 +1,38 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * Deadline alert waiting for the next digest of its recipient (see {@link com.innovation.service.AlertDigestService}).
+ * Kept a few days after its digest is sent, so that the same alert is not buffered twice the same day.
+ */
+@Entity
+@Data
+@Table(name = "pending_alert", indexes = {
+        @Index(name = "idx_pending_alert_recipient", columnList = "flushed_at, recipient, created_at")
+}, uniqueConstraints = {
+        @UniqueConstraint(name = "uk_pending_alert_dedup_key", columnNames = "dedup_key")
+})
+public class PendingAlert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(length = 200)
+    private String dedupKey;
+
+    private String recipient;
+    private Long ideaId;
+    private String ideaTitle;
+    private String processInstanceId;
+    private String activityId;
+    private String assignee;
+    private LocalDateTime createdAt;
+
+    // Null until the digest containing this alert is queued
+    private LocalDateTime flushedAt;
+}
@@ -0,0 +1,32 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+/**
+ * One bar of a duration histogram: the number of workflow phases (qualification, POC, development) that ended in a
+ * month and lasted within the bounds of a bucket. Maintained by {@link com.innovation.service.PhaseAnalyticsService}.
+ */
+@Entity
+@Data
+@Table(name = "phase_duration_bucket", uniqueConstraints =
+        @UniqueConstraint(name = "uk_phase_duration_bucket", columnNames = {"phase", "end_month", "bucket"}))
+public class PhaseDurationBucket {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // BPMN id of the subprocess
+    @Column(nullable = false)
+    private String phase;
+
+    // Month the phase ended in, as yyyy-MM
+    @Column(nullable = false, length = 7)
+    private String endMonth;
+
+    // Duration bucket, see PhaseAnalyticsService.bucketOf
+    private int bucket;
+
+    private long count;
+}
@@ -0,0 +1,24 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// File content stored once under its SHA-256 by FileStorageService, shared by the documents that have this content
+@Entity
+@Data
+@Table(name = "stored_blob")
+public class StoredBlob {
+
+    @Id
+    @Column(length = 64)
+    private String sha256;
+
+    private long size;
+
+    // Number of documents referencing the blob; the file is deleted with the last one
+    private int refCount;
+
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,53 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Denormalized read model of the task inbox: one row per active user task, joined with its idea.
+ * Maintained by {@link com.innovation.service.TaskInboxProjection}.
+ */
+@Entity
+@Data
+@Table(name = "task_inbox_entry", indexes = {
+        @Index(name = "idx_inbox_assignee", columnList = "assignee"),
+        @Index(name = "idx_inbox_created", columnList = "create_time, task_id"),
+        @Index(name = "idx_inbox_due", columnList = "due_date, task_id"),
+        @Index(name = "idx_inbox_idea", columnList = "idea_id")
+})
+public class TaskInboxEntry {
+
+    @Id
+    @Column(length = 64)
+    private String taskId;
+
+    private String taskDefinitionKey;
+    private String taskName;
+    private String processInstanceId;
+    private String assignee;
+
+    // Candidate group ids, one row each: visibility is an indexed lookup of (group, task), not a scan of a list
+    @ElementCollection
+    @CollectionTable(name = "task_inbox_candidate_group",
+            joinColumns = @JoinColumn(name = "task_id"),
+            indexes = @Index(name = "idx_inbox_group", columnList = "group_id, task_id"))
+    @Column(name = "group_id", length = 64)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private Set<String> candidateGroups = new HashSet<>();
+
+    private Date dueDate;
+    private Date createTime;
+    private int taskPriority;
+
+    private Long ideaId;
+    private String ideaTitre;
+    private String ideaStatut;
+    private String ideaPriority;
+}
@@ -0,0 +1,21 @@
+package com.innovation.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Current token generation of a user: JWTs issued with an older generation are rejected (see TokenGenerations)
+@Entity
+@Data
+@Table(name = "token_generation")
+public class TokenGeneration {
+
+    @Id
+    @Column(length = 64)
+    private String userId;
+
+    private long generation;
+
+    private LocalDateTime updatedAt;
+}
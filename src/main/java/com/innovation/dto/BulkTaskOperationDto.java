@@ -0,0 +1,15 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class BulkTaskOperationDto {
+
+    private String taskId;
+    // "claim", "unclaim" or "complete"
+    private String action;
+    // Only used by "complete"
+    private Map<String, Object> variables;
+}
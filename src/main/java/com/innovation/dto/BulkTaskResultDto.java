@@ -0,0 +1,19 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+@Data
+public class BulkTaskResultDto {
+
+    private String taskId;
+    private String action;
+    private boolean success;
+    private String error;
+
+    public BulkTaskResultDto(String taskId, String action, boolean success, String error) {
+        this.taskId = taskId;
+        this.action = action;
+        this.success = success;
+        this.error = error;
+    }
+}
@@ -1,24 +1,44 @@
 package com.innovation.dto;
 
 import com.innovation.domain.Developpement;
-import com.innovation.domain.Document;
 import com.innovation.domain.Idea;
 import com.innovation.domain.POC;
 import lombok.Data;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
+/**
+ * Details view of an idea. The POC, the developpement and the documents are flattened into their own records,
+ * without the back-reference to the idea that their entities carry, so the idea is serialized only once.
+ */
 @Data
 public class FullIdeaDetailsDto {
     private Idea idea;
-    private POC poc;
-    private Developpement developpement;
-    private List<Document> documents;
+    private PocDetails poc;
+    private DeveloppementDetails developpement;
+    private List<DocumentSummary> documents;
 
-    public FullIdeaDetailsDto(Idea idea, POC poc, Developpement developpement, List<Document> documents) {
+    public FullIdeaDetailsDto(Idea idea, POC poc, Developpement developpement, List<DocumentSummary> documents) {
         this.idea = idea;
-        this.poc = poc;
-        this.developpement = developpement;
+        this.poc = poc == null ? null : new PocDetails(poc.getId(), poc.getVersion(), poc.getDateDebut(), poc.getDateFin(),
+                poc.getBusinessModel(), poc.getChargeEstimee(), poc.getCoutEstime(), poc.getConclusion(), poc.getDecision());
+        this.developpement = developpement == null ? null : new DeveloppementDetails(developpement.getId(), developpement.getVersion(),
+                developpement.getDateLancement(), developpement.getDateFin(), developpement.getDescription(),
+                developpement.getStatutDev(), developpement.getAvisNegatif(), developpement.getChefDeProjet(),
+                developpement.getMembresEquipe());
         this.documents = documents;
     }
-}
\ No newline at end of file
+
+    public record PocDetails(Long id, Long version, LocalDate dateDebut, LocalDate dateFin, String businessModel,
+                             String chargeEstimee, Double coutEstime, String conclusion, String decision) {
+    }
+
+    public record DeveloppementDetails(Long id, Long version, LocalDate dateLancement, LocalDate dateFin, String description,
+                                       String statutDev, String avisNegatif, String chefDeProjet, String membresEquipe) {
+    }
+
+    public record DocumentSummary(Long id, String fileName, String fileType, LocalDateTime uploadDate) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+
+// Criteria of the idea list; null or empty fields do not filter
+@Data
+public class IdeaFilter {
+
+    private List<String> statuts;
+    private List<String> priorities;
+    private String createdBy;
+    // Inclusive range on dateCreation
+    private LocalDate createdFrom;
+    private LocalDate createdTo;
+    // Case-insensitive match on the title or the description
+    private String text;
+}
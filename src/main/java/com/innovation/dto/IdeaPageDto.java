@@ -0,0 +1,18 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class IdeaPageDto {
+
+    private List<IdeaSummaryDto> items;
+    // Opaque keyset cursor for the next page, null when this is the last page
+    private String nextCursor;
+
+    public IdeaPageDto(List<IdeaSummaryDto> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,26 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// List view of an idea: no description or dates of the workflow, see GET /api/ideas/{id} for the full idea
+@Data
+public class IdeaSummaryDto {
+
+    private Long id;
+    private String titre;
+    private String statut;
+    private String priority;
+    private LocalDateTime dateCreation;
+    private String createdBy;
+
+    public IdeaSummaryDto(Long id, String titre, String statut, String priority, LocalDateTime dateCreation, String createdBy) {
+        this.id = id;
+        this.titre = titre;
+        this.statut = statut;
+        this.priority = priority;
+        this.dateCreation = dateCreation;
+        this.createdBy = createdBy;
+    }
+}
@@ -0,0 +1,26 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+// Duration percentiles of a workflow phase, in seconds; month is null for the whole requested range
+@Data
+public class PhaseDurationStatsDto {
+
+    private String phase;
+    private String phaseName;
+    private String month;
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+
+    public PhaseDurationStatsDto(String phase, String phaseName, String month, long count, long p50, long p90, long p99) {
+        this.phase = phase;
+        this.phaseName = phaseName;
+        this.month = month;
+        this.count = count;
+        this.p50 = p50;
+        this.p90 = p90;
+        this.p99 = p99;
+    }
+}
@@ -0,0 +1,32 @@
+package com.innovation.dto;
+
+import com.innovation.domain.TaskInboxEntry;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Inbox row served from the {@link TaskInboxEntry} read model.
+ * Same JSON shape as {@link TaskDetailsDto} ("task" + "idea"), restricted to the denormalized columns.
+ */
+@Data
+public class TaskInboxItemDto {
+
+    private TaskSummary task;
+    private IdeaSummary idea;
+
+    public TaskInboxItemDto(TaskInboxEntry entry) {
+        this.task = new TaskSummary(entry.getTaskId(), entry.getTaskName(), entry.getTaskDefinitionKey(),
+                entry.getProcessInstanceId(), entry.getAssignee(), entry.getCreateTime(), entry.getDueDate(),
+                entry.getTaskPriority());
+        this.idea = entry.getIdeaId() == null ? null
+                : new IdeaSummary(entry.getIdeaId(), entry.getIdeaTitre(), entry.getIdeaStatut(), entry.getIdeaPriority());
+    }
+
+    public record TaskSummary(String id, String name, String taskDefinitionKey, String processInstanceId,
+                              String assignee, Date created, Date due, int priority) {
+    }
+
+    public record IdeaSummary(Long id, String titre, String statut, String priority) {
+    }
+}
@@ -0,0 +1,18 @@
+package com.innovation.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class TaskPageDto<T> {
+
+    private List<T> items;
+    // Opaque keyset cursor for the next page, null when this is the last page
+    private String nextCursor;
+
+    public TaskPageDto(List<T> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+}
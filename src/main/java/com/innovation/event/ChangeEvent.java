@@ -0,0 +1,17 @@
+package com.innovation.event;
+
+/**
+ * Small change notification pushed to the UI over {@code /api/events}.
+ * Only the fields relevant to the event type are set.
+ */
+public record ChangeEvent(Type type, String taskId, String taskDefinitionKey, String processInstanceId,
+                          String assignee, Long ideaId, String statut) {
+
+    public enum Type {
+        TASK_CREATED,
+        TASK_ASSIGNED,
+        TASK_COMPLETED,
+        TASK_DELETED,
+        IDEA_STATUS_CHANGED
+    }
+}
@@ -0,0 +1,8 @@
+package com.innovation.event;
+
+/**
+ * Published (synchronously, inside the engine transaction) by {@link com.innovation.service.IdeaStatusTransitions}
+ * whenever the status of an idea changes.
+ */
+public record IdeaStatusChangedEvent(Long ideaId, String previousStatut, String statut) {
+}
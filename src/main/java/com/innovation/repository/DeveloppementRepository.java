@@ -2,12 +2,29 @@ package com.innovation.repository;
 
 import com.innovation.domain.Developpement;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.Optional; // <-- Ajoutez cet import
 
 @Repository
 public interface DeveloppementRepository extends JpaRepository<Developpement, Long> {
     // Cette nouvelle méthode trouvera un développement par l'ID de son idée liée
     Optional<Developpement> findByIdeaId(Long ideaId);
-}
\ No newline at end of file
+
+    // Final outcome of the project, written without loading it; the version moves like a regular update
+    @Transactional
+    @Modifying
+    @Query("update Developpement d set d.statutDev = :statutDev, d.dateFin = :dateFin, d.version = d.version + 1 where d.idea.id = :ideaId")
+    int updateFin(@Param("ideaId") Long ideaId, @Param("statutDev") String statutDev,
+                  @Param("dateFin") LocalDate dateFin);
+
+    @Transactional
+    @Modifying
+    @Query("update Developpement d set d.avisNegatif = :avisNegatif, d.version = d.version + 1 where d.idea.id = :ideaId")
+    int updateAvisNegatif(@Param("ideaId") Long ideaId, @Param("avisNegatif") String avisNegatif);
+}
@@ -0,0 +1,43 @@
+package com.innovation.repository;
+
+import com.innovation.domain.EmailOutboxMessage;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface EmailOutboxMessageRepository extends JpaRepository<EmailOutboxMessage, Long> {
+
+    boolean existsByDedupKey(String dedupKey);
+
+    // Oldest pending messages whose next attempt is due (idx_email_outbox_due)
+    @Query("select m.id from EmailOutboxMessage m where m.status = 'PENDING' and m.nextAttemptAt <= :now order by m.nextAttemptAt, m.id")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    // Claims messages for one dispatcher batch: of concurrent claims on a message, only one updates it
+    @Transactional
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = 'SENDING', m.claimToken = :claimToken, m.claimedAt = :now"
+            + " where m.id in :ids and m.status = 'PENDING'")
+    int claim(@Param("ids") Collection<Long> ids, @Param("claimToken") String claimToken, @Param("now") LocalDateTime now);
+
+    List<EmailOutboxMessage> findByClaimToken(String claimToken);
+
+    // Messages claimed before claimedBefore, left by a dispatcher that stopped (on any instance), sent again on the
+    // next pass; rows claimed before claimedAt existed have none and are released too
+    @Transactional
+    @Modifying
+    @Query("update EmailOutboxMessage m set m.status = 'PENDING', m.claimToken = null, m.claimedAt = null"
+            + " where m.status = 'SENDING' and (m.claimedAt is null or m.claimedAt < :claimedBefore)")
+    int releaseClaims(@Param("claimedBefore") LocalDateTime claimedBefore);
+
+    long countByStatus(String status);
+}
@@ -1,24 +1,44 @@
 package com.innovation.repository;
 
 import com.innovation.domain.Idea;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List; // <-- Add this import
 
+// List filters are expressed with IdeaSpecifications
 @Repository
-public interface IdeaRepository extends JpaRepository<Idea, Long> {
+public interface IdeaRepository extends JpaRepository<Idea, Long>, JpaSpecificationExecutor<Idea> {
 
-    long countByStatut(String statut);
-    long countByStatutIn(List<String> statuses);
-    long countByPriority(String priority);
+    // One row per (statut, priority, createdBy): [statut, priority, createdBy, count]; seeds PortfolioCounters
+    @Query("select i.statut, i.priority, i.createdBy, count(i) from Idea i group by i.statut, i.priority, i.createdBy")
+    List<Object[]> countGroupedByStatutPriorityAndCreator();
 
-    List<Idea> findByStatut(String statut);
-    List<Idea> findByPriority(String priority);
-    List<Idea> findByStatutAndPriority(String statut, String priority);
+    // Written by the process without loading the idea; the version moves like a regular update
+    @Transactional
+    @Modifying
+    @Query("update Idea i set i.datePriorisation = :datePriorisation, i.version = i.version + 1 where i.id = :ideaId")
+    int updateDatePriorisation(@Param("ideaId") Long ideaId, @Param("datePriorisation") LocalDateTime datePriorisation);
 
-    // --- NEW: scope by creator (efficient DB-side filtering) ---
-    List<Idea> findByCreatedBy(String createdBy);
-    List<Idea> findByStatutAndCreatedBy(String statut, String createdBy);
-    List<Idea> findByPriorityAndCreatedBy(String priority, String createdBy);
-    List<Idea> findByStatutAndPriorityAndCreatedBy(String statut, String priority, String createdBy);
-}
\ No newline at end of file
+    // [ideaVersion, pocVersion, developpementVersion, documentCount, lastDocumentId] of an idea, see IdeaService.getIdeaDetailsVersion
+    @Query("select i.version, p.version, d.version, "
+            + "(select count(doc) from Document doc where doc.idea = i), (select max(doc.id) from Document doc where doc.idea = i) "
+            + "from Idea i left join POC p on p.idea = i left join Developpement d on d.idea = i where i.id = :ideaId")
+    List<Object[]> findDetailsVersions(@Param("ideaId") Long ideaId);
+
+    // Ideas prioritized before the given time in one of the given statuses, for ReminderSweeper (idx_idea_statut_priorisation)
+    List<Idea> findByStatutInAndDatePriorisationLessThanEqual(Collection<String> statuts, LocalDateTime datePriorisation,
+                                                               Pageable pageable);
+
+    @Transactional
+    @Modifying
+    @Query("update Idea i set i.dateDernierRappel = :dateDernierRappel, i.version = i.version + 1 where i.id in :ideaIds")
+    int updateDateDernierRappel(@Param("ideaIds") Collection<Long> ideaIds, @Param("dateDernierRappel") LocalDateTime dateDernierRappel);
+}
@@ -0,0 +1,71 @@
+package com.innovation.repository;
+
+import com.innovation.domain.Idea;
+import com.innovation.dto.IdeaFilter;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Composable filters on {@link Idea}, combined by {@link #matching(IdeaFilter)}.
+ * Each criterion left empty in the filter adds nothing to the WHERE clause.
+ */
+public final class IdeaSpecifications {
+
+    private IdeaSpecifications() {
+    }
+
+    public static Specification<Idea> matching(IdeaFilter filter) {
+        return Specification.where(statutIn(filter.getStatuts()))
+                .and(priorityIn(filter.getPriorities()))
+                .and(createdBy(filter.getCreatedBy()))
+                .and(createdBetween(filter.getCreatedFrom(), filter.getCreatedTo()))
+                .and(textContains(filter.getText()));
+    }
+
+    public static Specification<Idea> statutIn(List<String> statuts) {
+        return (root, query, cb) -> isEmpty(statuts) ? null : root.get("statut").in(statuts);
+    }
+
+    public static Specification<Idea> priorityIn(List<String> priorities) {
+        return (root, query, cb) -> isEmpty(priorities) ? null : root.get("priority").in(priorities);
+    }
+
+    public static Specification<Idea> createdBy(String createdBy) {
+        return (root, query, cb) -> createdBy == null || createdBy.isEmpty() ? null : cb.equal(root.get("createdBy"), createdBy);
+    }
+
+    public static Specification<Idea> createdBetween(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            if (from != null && to != null) {
+                return cb.between(root.get("dateCreation"), from.atStartOfDay(), endOfDay(to));
+            } else if (from != null) {
+                return cb.greaterThanOrEqualTo(root.get("dateCreation"), from.atStartOfDay());
+            } else if (to != null) {
+                return cb.lessThanOrEqualTo(root.get("dateCreation"), endOfDay(to));
+            }
+            return null;
+        };
+    }
+
+    public static Specification<Idea> textContains(String text) {
+        return (root, query, cb) -> {
+            if (text == null || text.isBlank()) {
+                return null;
+            }
+            String pattern = "%" + text.trim().toLowerCase(Locale.ROOT) + "%";
+            return cb.or(cb.like(cb.lower(root.get("titre")), pattern), cb.like(cb.lower(root.get("description")), pattern));
+        };
+    }
+
+    private static LocalDateTime endOfDay(LocalDate date) {
+        return date.plusDays(1).atStartOfDay().minusNanos(1000);
+    }
+
+    private static boolean isEmpty(List<String> values) {
+        return values == null || values.isEmpty();
+    }
+}
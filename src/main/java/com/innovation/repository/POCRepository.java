@@ -2,7 +2,11 @@ package com.innovation.repository;
 
 import com.innovation.domain.POC;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional; // <-- Add import
 
@@ -10,4 +14,11 @@ import java.util.Optional; // <-- Add import
 public interface POCRepository extends JpaRepository<POC, Long> {
     // This new method will find a POC by its linked Idea's ID
     Optional<POC> findByIdeaId(Long ideaId);
-}
\ No newline at end of file
+
+    // Writes the decision of the POC review without loading it, and moves its version like a regular update
+    @Transactional
+    @Modifying
+    @Query("update POC p set p.conclusion = :conclusion, p.decision = :decision, p.version = p.version + 1 where p.idea.id = :ideaId")
+    int updateDecision(@Param("ideaId") Long ideaId, @Param("conclusion") String conclusion,
+                       @Param("decision") String decision);
+}
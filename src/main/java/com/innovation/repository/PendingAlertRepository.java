@@ -0,0 +1,28 @@
+package com.innovation.repository;
+
+import com.innovation.domain.PendingAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface PendingAlertRepository extends JpaRepository<PendingAlert, Long> {
+
+    boolean existsByDedupKey(String dedupKey);
+
+    @Query("select distinct a.recipient from PendingAlert a where a.flushedAt is null")
+    List<String> findPendingRecipients();
+
+    List<PendingAlert> findByRecipientAndFlushedAtIsNullOrderByCreatedAtAscIdAsc(String recipient);
+
+    @Transactional
+    @Modifying
+    @Query("delete from PendingAlert a where a.flushedAt < :flushedBefore")
+    int deleteFlushedBefore(@Param("flushedBefore") LocalDateTime flushedBefore);
+}
@@ -0,0 +1,16 @@
+package com.innovation.repository;
+
+import com.innovation.domain.PhaseDurationBucket;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface PhaseDurationBucketRepository extends JpaRepository<PhaseDurationBucket, Long> {
+
+    List<PhaseDurationBucket> findByPhaseAndEndMonth(String phase, String endMonth);
+
+    // Months are yyyy-MM strings, so their lexical order is chronological
+    List<PhaseDurationBucket> findByEndMonthBetween(String fromMonth, String toMonth);
+}
@@ -0,0 +1,26 @@
+package com.innovation.repository;
+
+import com.innovation.domain.StoredBlob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoredBlobRepository extends JpaRepository<StoredBlob, String> {
+
+    // 0 when the blob has no row yet
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount + 1 WHERE b.sha256 = :sha256")
+    int addReference(@Param("sha256") String sha256);
+
+    @Modifying
+    @Query("UPDATE StoredBlob b SET b.refCount = b.refCount - 1 WHERE b.sha256 = :sha256 AND b.refCount > 0")
+    int removeReference(@Param("sha256") String sha256);
+
+    // 1 when the blob lost its last reference
+    @Modifying
+    @Query("DELETE FROM StoredBlob b WHERE b.sha256 = :sha256 AND b.refCount = 0")
+    int deleteUnreferenced(@Param("sha256") String sha256);
+}
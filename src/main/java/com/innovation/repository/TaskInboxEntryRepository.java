@@ -0,0 +1,33 @@
+package com.innovation.repository;
+
+import com.innovation.domain.TaskInboxEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface TaskInboxEntryRepository extends JpaRepository<TaskInboxEntry, String> {
+
+    // Copies the denormalized idea columns onto every inbox row of that idea
+    @Transactional
+    @Modifying
+    @Query("update TaskInboxEntry e set e.ideaTitre = :titre, e.ideaStatut = :statut, e.ideaPriority = :priority where e.ideaId = :ideaId")
+    int updateIdea(@Param("ideaId") Long ideaId, @Param("titre") String titre,
+                   @Param("statut") String statut, @Param("priority") String priority);
+
+    @Transactional
+    @Modifying
+    @Query("update TaskInboxEntry e set e.ideaStatut = :statut where e.ideaId = :ideaId")
+    int updateIdeaStatut(@Param("ideaId") Long ideaId, @Param("statut") String statut);
+
+    @Query("select count(g) from TaskInboxEntry e join e.candidateGroups g")
+    long countCandidateGroups();
+
+    // The element collection is not cleared by a bulk delete of the entries
+    @Modifying
+    @Query(value = "delete from task_inbox_candidate_group", nativeQuery = true)
+    int deleteAllCandidateGroups();
+}
@@ -0,0 +1,19 @@
+package com.innovation.repository;
+
+import com.innovation.domain.TokenGeneration;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface TokenGenerationRepository extends JpaRepository<TokenGeneration, String> {
+
+    // Atomic increment; 0 when the user has no row yet
+    @Modifying
+    @Query("UPDATE TokenGeneration t SET t.generation = t.generation + 1, t.updatedAt = :now WHERE t.userId = :userId")
+    int increment(@Param("userId") String userId, @Param("now") LocalDateTime now);
+}
@@ -1,6 +1,5 @@
 package com.innovation.security;
 
-import io.jsonwebtoken.ExpiredJwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,7 +9,7 @@ import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.List;
+import java.util.Objects;
 
 @Component
 public class JwtRequestFilter extends OncePerRequestFilter {
@@ -18,30 +17,33 @@ public class JwtRequestFilter extends OncePerRequestFilter {
     @Autowired
     private JwtUtil jwtUtil;
 
+    @Autowired
+    private TokenGenerations tokenGenerations;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
 
         final String authorizationHeader = request.getHeader("Authorization");
-        String username = null;
         String jwt = null;
+        // Session tokens have no scope, and only they are accepted in the header
+        String scope = null;
 
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
             jwt = authorizationHeader.substring(7);
-            try {
-                username = jwtUtil.extractUsername(jwt);
-            } catch (Exception e) {
-                // Token is invalid, we can ignore it and let the request proceed
-                // It will be blocked later if the endpoint requires authentication
-            }
+        } else if ("/api/events".equals(request.getRequestURI())) {
+            // EventSource cannot send headers: the event stream takes a short-lived ticket in the URL instead
+            jwt = request.getParameter("ticket");
+            scope = JwtUtil.EVENTS_SCOPE;
         }
 
-        if (username != null) {
-            if (jwtUtil.validateToken(jwt)) {
-                // If token is valid, add user details to the request attributes
-                List<String> groups = jwtUtil.extractGroups(jwt);
-                request.setAttribute("username", username);
-                request.setAttribute("userGroups", groups);
+        if (jwt != null) {
+            // An invalid, expired or revoked token is ignored: endpoints requiring authentication will reject the request
+            JwtUtil.VerifiedToken verified = jwtUtil.verify(jwt);
+            if (verified != null && Objects.equals(verified.scope(), scope)
+                    && tokenGenerations.isCurrent(verified.username(), verified.generation())) {
+                request.setAttribute("username", verified.username());
+                request.setAttribute("userGroups", verified.groups());
             }
         }
 
@@ -1,70 +1,138 @@
 package com.innovation.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.function.Function;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class JwtUtil {
     private final String SECRET_STRING = "a-very-long-and-super-secret-key-for-your-innovation-app";
     private final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET_STRING.getBytes(StandardCharsets.UTF_8));
+    // Immutable once built, shared by all requests
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
 
-    public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+    // Scope of the tickets of the event stream, which only open /api/events; session tokens have no scope
+    public static final String EVENTS_SCOPE = "events";
+
+    // Identity of a token whose signature and expiration were checked; generation: see TokenGenerations
+    public record VerifiedToken(String username, List<String> groups, long generation, Date expiration, String scope) {
     }
 
-    public Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+    // SHA-256 of the token -> its verified claims, each entry expiring with its token. Invalid tokens are not cached.
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final Duration eventTicketTtl;
+
+    public JwtUtil(@Value("${app.cache.jwt.maximum-size:10000}") long maximumSize,
+                   @Value("${app.events.ticket-ttl:60s}") Duration eventTicketTtl) {
+        this.eventTicketTtl = eventTicketTtl;
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, token.expiration().getTime() - System.currentTimeMillis()));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, token, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public List<String> extractGroups(String token) {
-        return extractClaim(token, claims -> (List<String>) claims.get("groups"));
+    /**
+     * Verifies the signature and expiration of a token, parsing it only the first time it is seen; null if the token
+     * is invalid or expired.
+     */
+    public VerifiedToken verify(String token) {
+        String digest = digest(token);
+        VerifiedToken verified = verifiedTokens.getIfPresent(digest);
+        if (verified != null) {
+            return verified;
+        }
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (Exception e) {
+            return null;
+        }
+        if (claims.getExpiration() == null || claims.getExpiration().before(new Date())) {
+            return null;
+        }
+        List<String> groups = (List<String>) claims.get("groups");
+        // Tokens issued before generations existed have no gen claim: generation 0
+        Number generation = claims.get("gen", Number.class);
+        verified = new VerifiedToken(claims.getSubject(), groups != null ? List.copyOf(groups) : List.of(),
+                generation != null ? generation.longValue() : 0L, claims.getExpiration(), claims.get("scope", String.class));
+        verifiedTokens.put(digest, verified);
+        return verified;
     }
 
-    public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+    private static String digest(String token) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return Base64.getEncoder().encodeToString(sha256.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(token).getBody();
+        return parser.parseClaimsJws(token).getBody();
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public String generateToken(String username, List<String> groups, long generation) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("groups", groups);
+        claims.put("gen", generation);
+        return createToken(claims, username, 1000 * 60 * 60 * 10); // 10 hours
     }
 
-    public String generateToken(String username, List<String> groups) {
+    /**
+     * Ticket of the event stream: EventSource cannot send the Authorization header, so the stream is opened with this
+     * token in its URL instead of the session token. It only opens {@code /api/events} and expires after
+     * {@code app.events.ticket-ttl}, so a copy left in an access log or the browser history is soon worthless.
+     */
+    public String generateEventTicket(String username, List<String> groups, long generation) {
         Map<String, Object> claims = new HashMap<>();
         claims.put("groups", groups);
-        return createToken(claims, username);
+        claims.put("gen", generation);
+        claims.put("scope", EVENTS_SCOPE);
+        return createToken(claims, username, eventTicketTtl.toMillis());
     }
 
-    private String createToken(Map<String, Object> claims, String subject) {
+    private String createToken(Map<String, Object> claims, String subject, long ttlMillis) {
         return Jwts.builder()
                 .setClaims(claims)
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 10)) // 10 hours
+                .setExpiration(new Date(System.currentTimeMillis() + ttlMillis))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256).compact();
     }
-
-    public Boolean validateToken(String token) {
-        try {
-            extractAllClaims(token);
-            return !isTokenExpired(token);
-        } catch (Exception e) {
-            return false;
-        }
-    }
 }
\ No newline at end of file
@@ -0,0 +1,160 @@
+package com.innovation.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Admission control of the expensive endpoints: each user (the {@code username} set by {@link JwtRequestFilter}, the
+ * client address for anonymous requests) has a token bucket per route, of {@code app.rate-limit.<route>.capacity}
+ * tokens refilled at {@code app.rate-limit.<route>.refill-per-minute}. A request without a token gets 429 with
+ * Retry-After, before reaching the controller and the database. Other endpoints are not limited.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RateLimitFilter.class);
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final boolean enabled;
+    private final List<Route> routes;
+
+    public RateLimitFilter(@Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.idle-timeout:10m}") Duration idleTimeout,
+                           Environment environment) {
+        this.enabled = enabled;
+        this.routes = List.of(
+                new Route("ideas-list", "GET", "/api/ideas", environment, idleTimeout),
+                new Route("ideas-search", "GET", "/api/ideas/search", environment, idleTimeout),
+                new Route("tasks-list", "GET", "/api/tasks", environment, idleTimeout),
+                new Route("documents-upload", "POST", "/api/process-instances/*/documents", environment, idleTimeout));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Route route = enabled ? routeOf(request) : null;
+        if (route != null) {
+            String username = (String) request.getAttribute("username");
+            String client = username != null ? username : "@" + request.getRemoteAddr();
+            long waitNanos = route.buckets.get(client, key -> new TokenBucket(route.capacity, route.refillIntervalNanos))
+                    .tryConsume(System.nanoTime());
+            if (waitNanos > 0) {
+                route.rejected.increment();
+                long retryAfterSeconds = Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+                LOGGER.debug("Rate limit of {} reached by {}, retry in {}s", route.name, client, retryAfterSeconds);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+                response.setContentType("text/plain");
+                response.getWriter().write("Too many requests, retry in " + retryAfterSeconds + " s");
+                return;
+            }
+            route.allowed.increment();
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route routeOf(HttpServletRequest request) {
+        String uri = request.getRequestURI();
+        for (Route route : routes) {
+            if (route.method.equals(request.getMethod()) && PATHS.match(route.pattern, uri)) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    // Allowed / rejected requests and limits per route
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enabled", enabled);
+        for (Route route : routes) {
+            Map<String, Object> values = new LinkedHashMap<>();
+            values.put("route", route.method + " " + route.pattern);
+            values.put("capacity", route.capacity);
+            values.put("refillPerMinute", TimeUnit.MINUTES.toNanos(1) / route.refillIntervalNanos);
+            values.put("allowed", route.allowed.sum());
+            values.put("rejected", route.rejected.sum());
+            values.put("clients", route.buckets.estimatedSize());
+            statistics.put(route.name, values);
+        }
+        return statistics;
+    }
+
+    private static final class Route {
+        final String name;
+        final String method;
+        final String pattern;
+        final long capacity;
+        final long refillIntervalNanos;
+        // Buckets of the clients seen recently; an idle bucket is full again, so dropping it loses nothing
+        final Cache<String, TokenBucket> buckets;
+        final LongAdder allowed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+
+        Route(String name, String method, String pattern, Environment environment, Duration idleTimeout) {
+            this.name = name;
+            this.method = method;
+            this.pattern = pattern;
+            this.capacity = environment.getProperty("app.rate-limit." + name + ".capacity", Long.class, 30L);
+            long refillPerMinute = environment.getProperty("app.rate-limit." + name + ".refill-per-minute", Long.class, 60L);
+            this.refillIntervalNanos = TimeUnit.MINUTES.toNanos(1) / refillPerMinute;
+            this.buckets = Caffeine.newBuilder()
+                    .expireAfterAccess(idleTimeout)
+                    .maximumSize(100_000)
+                    .build();
+        }
+    }
+
+    /**
+     * Token bucket held in one AtomicLong, updated by compare-and-set: instead of a token count and a refill time,
+     * it stores the instant at which the bucket will be full again. A request takes one token, i.e. moves that
+     * instant one refill interval later, unless it would then be more than {@code capacity} intervals ahead.
+     */
+    static final class TokenBucket {
+        private final long refillIntervalNanos;
+        private final long capacityNanos;
+        private final AtomicLong fullAt;
+
+        TokenBucket(long capacity, long refillIntervalNanos) {
+            this.refillIntervalNanos = refillIntervalNanos;
+            this.capacityNanos = capacity * refillIntervalNanos;
+            this.fullAt = new AtomicLong(System.nanoTime());
+        }
+
+        // 0 if a token was taken, otherwise the wait until one is available
+        long tryConsume(long now) {
+            while (true) {
+                long current = fullAt.get();
+                long next = Math.max(current, now) + refillIntervalNanos;
+                if (next - now > capacityNanos) {
+                    return next - now - capacityNanos;
+                }
+                if (fullAt.compareAndSet(current, next)) {
+                    return 0;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package com.innovation.security;
+
+import com.innovation.domain.TokenGeneration;
+import com.innovation.repository.TokenGenerationRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revocation of issued JWTs, per user. Each token carries the generation of its user at login ({@code gen} claim);
+ * bumping the generation, when the user's groups or password change or the user is deleted, rejects every token
+ * issued before. {@link JwtRequestFilter} checks the generation against the map held here, without I/O; the
+ * {@code token_generation} table keeps it across restarts, and is re-read every
+ * {@code app.security.token-generations.refresh-ms} so that bumps made by another instance apply there too.
+ */
+@Service
+public class TokenGenerations {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenGenerations.class);
+
+    @Autowired
+    private TokenGenerationRepository repository;
+
+    // Users never bumped are absent, i.e. at generation 0
+    private final ConcurrentHashMap<String, Long> generations = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void load() {
+        refresh();
+        LOGGER.info("{} token generations loaded", generations.size());
+    }
+
+    // Hot path, once per authenticated request: one map lookup, no allocation
+    public boolean isCurrent(String userId, long tokenGeneration) {
+        Long current = generations.get(userId);
+        return current == null || tokenGeneration >= current;
+    }
+
+    public long current(String userId) {
+        Long current = generations.get(userId);
+        return current != null ? current : 0L;
+    }
+
+    /**
+     * Rejects every token issued to the user so far; the next login issues tokens of the new generation. Applied to
+     * the map right away: if the transaction rolls back, the user only has to log in again.
+     */
+    @Transactional
+    public long bump(String userId) {
+        LocalDateTime now = LocalDateTime.now();
+        TokenGeneration row;
+        if (repository.increment(userId, now) == 0) {
+            row = new TokenGeneration();
+            row.setUserId(userId);
+            row.setGeneration(1);
+            row.setUpdatedAt(now);
+            repository.saveAndFlush(row);
+        } else {
+            row = repository.findById(userId).orElseThrow();
+        }
+        generations.merge(userId, row.getGeneration(), Math::max);
+        LOGGER.info("Tokens of user '{}' issued before generation {} are revoked", userId, row.getGeneration());
+        return row.getGeneration();
+    }
+
+    @Scheduled(initialDelayString = "${app.security.token-generations.refresh-ms:30000}",
+            fixedDelayString = "${app.security.token-generations.refresh-ms:30000}")
+    public void refresh() {
+        // One row per user ever bumped: small enough to re-read whole
+        for (TokenGeneration row : repository.findAll()) {
+            generations.merge(row.getUserId(), row.getGeneration(), Math::max);
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.innovation.service;
+
+import com.innovation.domain.PendingAlert;
+import com.innovation.repository.PendingAlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Digest mode of the deadline alerts ({@code app.mail.alerts.mode: digest}): alerts are buffered per recipient in
+ * {@link PendingAlert}, and every {@code app.mail.alerts.digest-window-ms} each recipient with pending alerts gets one
+ * email listing them. The number of emails then follows the number of recipients (often just the admin), not the
+ * number of overdue instances.
+ */
+@Service
+public class AlertDigestService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AlertDigestService.class);
+
+    // Flushed alerts are kept this long so that the dedup key (one alert per activity and day) still applies
+    private static final Duration RETENTION = Duration.ofDays(2);
+    private static final DateTimeFormatter ALERTED_AT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    @Autowired
+    private PendingAlertRepository pendingAlertRepository;
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.mail.alerts.mode:immediate}")
+    private String mode;
+
+    @Value("${app.mail.from:no-reply@innovation.local}")
+    private String fromEmail;
+
+    // Rows listed in one digest, 0 for all; the others are only counted ("…and N more"), all are flushed
+    @Value("${app.mail.alerts.digest-max-rows:0}")
+    private int maxRows;
+
+    public boolean isEnabled() {
+        return "digest".equalsIgnoreCase(mode);
+    }
+
+    // Buffers an alert for the next digest of its recipient, in the caller's transaction; false if already buffered
+    public boolean add(String dedupKey, String recipient, Long ideaId, String ideaTitle, String processInstanceId,
+                       String activityId, String assignee) {
+        if (pendingAlertRepository.existsByDedupKey(dedupKey)) {
+            return false;
+        }
+        PendingAlert alert = new PendingAlert();
+        alert.setDedupKey(dedupKey);
+        alert.setRecipient(recipient);
+        alert.setIdeaId(ideaId);
+        alert.setIdeaTitle(ideaTitle);
+        alert.setProcessInstanceId(processInstanceId);
+        alert.setActivityId(activityId);
+        alert.setAssignee(assignee);
+        alert.setCreatedAt(LocalDateTime.now());
+        pendingAlertRepository.save(alert);
+        return true;
+    }
+
+    @Scheduled(initialDelayString = "${app.mail.alerts.digest-window-ms:3600000}",
+            fixedDelayString = "${app.mail.alerts.digest-window-ms:3600000}")
+    public synchronized void flush() {
+        if (!isEnabled()) {
+            return;
+        }
+        int digests = 0;
+        int alerts = 0;
+        for (String recipient : pendingAlertRepository.findPendingRecipients()) {
+            // One transaction per recipient: the digest is queued in the outbox and its alerts marked together
+            Integer flushed = transactionTemplate.execute(status -> flush(recipient));
+            if (flushed != null && flushed > 0) {
+                digests++;
+                alerts += flushed;
+            }
+        }
+        pendingAlertRepository.deleteFlushedBefore(LocalDateTime.now().minus(RETENTION));
+        if (digests > 0) {
+            LOGGER.info("{} alert digests queued for {} alerts", digests, alerts);
+        }
+    }
+
+    private int flush(String recipient) {
+        List<PendingAlert> alerts = pendingAlertRepository.findByRecipientAndFlushedAtIsNullOrderByCreatedAtAscIdAsc(recipient);
+        if (alerts.isEmpty()) {
+            return 0;
+        }
+        String subject = "[Innovation] " + alerts.size() + (alerts.size() == 1 ? " deadline" : " deadlines") + " passed";
+        emailOutbox.enqueue("digest:" + recipient + ":" + alerts.get(0).getId(), recipient, subject, buildBody(alerts), fromEmail);
+        LocalDateTime now = LocalDateTime.now();
+        alerts.forEach(alert -> alert.setFlushedAt(now));
+        pendingAlertRepository.saveAll(alerts);
+        return alerts.size();
+    }
+
+    private String buildBody(List<PendingAlert> alerts) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Hello,\n\n");
+        sb.append(alerts.size()).append(alerts.size() == 1 ? " deadline has" : " deadlines have")
+                .append(" passed since the previous digest:\n\n");
+        sb.append(String.format("%-8s %-40s %-20s %-16s %s%n", "Idea", "Title", "Step", "Assigned to", "Alerted at"));
+        int listed = maxRows > 0 ? Math.min(alerts.size(), maxRows) : alerts.size();
+        for (PendingAlert alert : alerts.subList(0, listed)) {
+            sb.append(String.format("%-8s %-40s %-20s %-16s %s%n",
+                    "#" + alert.getIdeaId(),
+                    abbreviate(alert.getIdeaTitle(), 40),
+                    alert.getActivityId(),
+                    alert.getAssignee() != null ? alert.getAssignee() : "(none)",
+                    alert.getCreatedAt().format(ALERTED_AT)));
+        }
+        if (alerts.size() > listed) {
+            sb.append("…and ").append(alerts.size() - listed).append(" more\n");
+        }
+        sb.append("\nPlease review and take action.\n\n");
+        sb.append("Regards,\nInnovation Workflow");
+        return sb.toString();
+    }
+
+    private static String abbreviate(String value, int maxLength) {
+        if (value == null) {
+            return "";
+        }
+        return value.length() <= maxLength ? value : value.substring(0, maxLength - 1) + "…";
+    }
+}
@@ -1,7 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
-import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -15,7 +13,7 @@ public class ArchiveIdeaDelegate implements JavaDelegate {
     private static final Logger LOGGER = LoggerFactory.getLogger(ArchiveIdeaDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Override
     public void execute(DelegateExecution execution) throws Exception {
@@ -23,14 +21,8 @@ public class ArchiveIdeaDelegate implements JavaDelegate {
         Long ideaId = (Long) execution.getVariable("ideaId");
         LOGGER.info("Executing ArchiveIdeaDelegate for idea ID: {}", ideaId);
 
-        // Load the idea from the database
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
         // Update the status to ARCHIVEE
-        idea.setStatut("ARCHIVEE");
-        ideaRepository.save(idea);
-
+        ideaStatusTransitions.moveToOrFail(ideaId, "ARCHIVEE");
         LOGGER.info("Idea {} status updated to ARCHIVEE", ideaId);
     }
-}
\ No newline at end of file
+}
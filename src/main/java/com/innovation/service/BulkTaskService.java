@@ -0,0 +1,178 @@
+package com.innovation.service;
+
+import com.innovation.dto.BulkTaskOperationDto;
+import com.innovation.dto.BulkTaskResultDto;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Applies a list of claim / unclaim / complete operations for one user.
+ * <p>
+ * All referenced tasks are loaded with a single {@code taskIdIn} query and the assignee checks are done in memory,
+ * following the operations in order (a task claimed earlier in the list may be completed later in the list).
+ * Valid operations are then executed in transactions of {@code app.tasks.bulk.batch-size} operations; when a batch
+ * fails it is rolled back and replayed one operation per transaction, so every operation gets its own result.
+ */
+@Service
+public class BulkTaskService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BulkTaskService.class);
+
+    public static final int MAX_OPERATIONS = 500;
+
+    private static final String CLAIM = "claim";
+    private static final String UNCLAIM = "unclaim";
+    private static final String COMPLETE = "complete";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    // Number of operations executed per transaction
+    @Value("${app.tasks.bulk.batch-size:25}")
+    private int batchSize;
+
+    public List<BulkTaskResultDto> execute(String username, List<BulkTaskOperationDto> operations) {
+        if (operations.size() > MAX_OPERATIONS) {
+            throw new IllegalArgumentException("At most " + MAX_OPERATIONS + " operations are allowed per request.");
+        }
+
+        Set<String> taskIds = new LinkedHashSet<>();
+        for (BulkTaskOperationDto operation : operations) {
+            if (operation.getTaskId() != null) {
+                taskIds.add(operation.getTaskId());
+            }
+        }
+        // Current assignee of every referenced task, updated as the operations are validated
+        Map<String, String> assignees = new HashMap<>();
+        Set<String> existingTaskIds = new LinkedHashSet<>();
+        if (!taskIds.isEmpty()) {
+            for (Task task : taskService.createTaskQuery().taskIdIn(taskIds.toArray(new String[0])).list()) {
+                existingTaskIds.add(task.getId());
+                assignees.put(task.getId(), task.getAssignee());
+            }
+        }
+
+        BulkTaskResultDto[] results = new BulkTaskResultDto[operations.size()];
+        List<Integer> valid = new ArrayList<>();
+        for (int i = 0; i < operations.size(); i++) {
+            BulkTaskOperationDto operation = operations.get(i);
+            String error = validate(username, operation, existingTaskIds, assignees);
+            if (error != null) {
+                results[i] = new BulkTaskResultDto(operation.getTaskId(), operation.getAction(), false, error);
+            } else {
+                valid.add(i);
+            }
+        }
+
+        int size = Math.max(1, batchSize);
+        for (int start = 0; start < valid.size(); start += size) {
+            List<Integer> batch = valid.subList(start, Math.min(start + size, valid.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> batch.forEach(i -> apply(username, operations.get(i))));
+                batch.forEach(i -> results[i] = success(operations.get(i)));
+            } catch (RuntimeException e) {
+                LOGGER.info("Bulk task batch failed ({}), retrying its {} operations one by one", e.getMessage(), batch.size());
+                for (Integer i : batch) {
+                    results[i] = applyAlone(username, operations.get(i));
+                }
+            }
+        }
+        return List.of(results);
+    }
+
+    private String validate(String username, BulkTaskOperationDto operation, Set<String> existingTaskIds,
+                            Map<String, String> assignees) {
+        String taskId = operation.getTaskId();
+        if (taskId == null || !existingTaskIds.contains(taskId)) {
+            return "Task not found.";
+        }
+        String action = operation.getAction() == null ? "" : operation.getAction().toLowerCase(Locale.ROOT);
+        String assignee = assignees.get(taskId);
+        switch (action) {
+            case CLAIM:
+                if (assignee != null && !assignee.equals(username)) {
+                    return "Task is already claimed by another user.";
+                }
+                assignees.put(taskId, username);
+                return null;
+            case UNCLAIM:
+                if (!username.equals(assignee)) {
+                    return "User is not the assignee of this task.";
+                }
+                assignees.put(taskId, null);
+                return null;
+            case COMPLETE:
+                if (!username.equals(assignee)) {
+                    return "User is not authorized to complete this task.";
+                }
+                // A completed task cannot be the target of a later operation
+                existingTaskIds.remove(taskId);
+                return null;
+            default:
+                return "Unknown action: " + operation.getAction();
+        }
+    }
+
+    private void apply(String username, BulkTaskOperationDto operation) {
+        switch (operation.getAction().toLowerCase(Locale.ROOT)) {
+            case CLAIM:
+                taskService.claim(operation.getTaskId(), username);
+                break;
+            case UNCLAIM:
+                taskService.setAssignee(operation.getTaskId(), null);
+                break;
+            default:
+                Map<String, Object> variables = operation.getVariables() == null
+                        ? new HashMap<>() : new HashMap<>(operation.getVariables());
+                taskService.complete(operation.getTaskId(), convertDates(variables));
+        }
+    }
+
+    private BulkTaskResultDto applyAlone(String username, BulkTaskOperationDto operation) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> apply(username, operation));
+            return success(operation);
+        } catch (RuntimeException e) {
+            return new BulkTaskResultDto(operation.getTaskId(), operation.getAction(), false,
+                    Objects.toString(e.getMessage(), e.getClass().getSimpleName()));
+        }
+    }
+
+    private static BulkTaskResultDto success(BulkTaskOperationDto operation) {
+        return new BulkTaskResultDto(operation.getTaskId(), operation.getAction(), true, null);
+    }
+
+    // Same conversion as the single-task complete endpoint: the forms send dateEcheance as an ISO local date-time
+    public static Map<String, Object> convertDates(Map<String, Object> variables) {
+        if (variables.containsKey("dateEcheance")) {
+            Object dateValue = variables.get("dateEcheance");
+            if (dateValue instanceof String) {
+                LocalDateTime localDateTime = LocalDateTime.parse((String) dateValue);
+                Date dueDate = Date.from(localDateTime.atZone(ZoneId.systemDefault()).toInstant());
+                variables.put("dateEcheance", dueDate);
+            }
+        }
+        return variables;
+    }
+}
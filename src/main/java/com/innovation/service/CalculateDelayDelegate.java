@@ -10,6 +10,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 @Component("calculateDelayDelegate")
 public class CalculateDelayDelegate implements JavaDelegate {
@@ -19,10 +20,14 @@ public class CalculateDelayDelegate implements JavaDelegate {
     @Autowired
     private IdeaRepository ideaRepository;
 
+    @Autowired
+    private IdeaCache ideaCache;
+
     @Override
     public void execute(DelegateExecution execution) throws Exception {
         Long ideaId = (Long) execution.getVariable("ideaId");
-        Idea idea = ideaRepository.findById(ideaId)
+        // Only read, so the shared cached copy will do
+        Idea idea = ideaCache.findIdea(ideaId)
                 .orElseThrow(() -> new RuntimeException("Idea not found: " + ideaId));
 
         // For now, let's hardcode the delay to 1 day for testing
@@ -39,8 +44,10 @@ public class CalculateDelayDelegate implements JavaDelegate {
         }
 
         execution.setVariable("delaiDepasse", delaiDepasse);
-        idea.setDateDernierRappel(LocalDateTime.now());
-        ideaRepository.save(idea);
+        // Single UPDATE rather than saving the idea read above: a concurrent edit of the idea cannot make the job fail
+        // on the version
+        ideaRepository.updateDateDernierRappel(List.of(ideaId), LocalDateTime.now());
+        ideaCache.evictIdea(ideaId);
 
         LOGGER.info("Deadline check for Idea {}: delaiDepasse = {}", ideaId, delaiDepasse);
     }
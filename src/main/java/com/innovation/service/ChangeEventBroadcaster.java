@@ -0,0 +1,242 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.event.ChangeEvent;
+import com.innovation.event.IdeaStatusChangedEvent;
+import jakarta.annotation.PreDestroy;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.task.IdentityLink;
+import org.camunda.bpm.engine.task.IdentityLinkType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Pushes {@link ChangeEvent}s to the clients subscribed on {@code /api/events}.
+ * <p>
+ * Events are captured from the task events published by the Camunda starter and from {@link IdeaStatusChangedEvent}s,
+ * and dispatched only after the engine transaction commits. Each subscriber gets a bounded buffer drained by its own
+ * sender; a subscriber whose buffer overflows is too slow and is disconnected (the UI reopens the stream with a new
+ * ticket and refetches what it shows). Events are only delivered to subscribers whose JWT user or groups may see them.
+ */
+@Service
+public class ChangeEventBroadcaster {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ChangeEventBroadcaster.class);
+
+    @Autowired
+    private IdeaCache ideaCache;
+
+    @Value("${app.events.buffer-size:256}")
+    private int bufferSize;
+
+    @Value("${app.events.timeout-minutes:30}")
+    private long timeoutMinutes;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    // Senders block on slow sockets, so each drain runs on its own virtual thread
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+
+    public SseEmitter subscribe(String username, List<String> userGroups) {
+        SseEmitter emitter = new SseEmitter(TimeUnit.MINUTES.toMillis(timeoutMinutes));
+        Subscriber subscriber = new Subscriber(username, userGroups == null ? Set.of() : Set.copyOf(userGroups), emitter,
+                new ArrayBlockingQueue<>(bufferSize));
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+        subscribers.add(subscriber);
+        try {
+            emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscriber.close();
+        }
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // --- Event sources ---
+
+    @EventListener
+    public void onTaskEvent(DelegateTask task) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        ChangeEvent.Type type;
+        switch (task.getEventName()) {
+            case TaskListener.EVENTNAME_CREATE:
+                type = ChangeEvent.Type.TASK_CREATED;
+                break;
+            case TaskListener.EVENTNAME_ASSIGNMENT:
+                type = ChangeEvent.Type.TASK_ASSIGNED;
+                break;
+            case TaskListener.EVENTNAME_COMPLETE:
+                type = ChangeEvent.Type.TASK_COMPLETED;
+                break;
+            case TaskListener.EVENTNAME_DELETE:
+                type = ChangeEvent.Type.TASK_DELETED;
+                break;
+            default:
+                return;
+        }
+
+        // Read everything now: the DelegateTask must not be touched once the command has finished
+        Long ideaId = task.getVariable("ideaId") instanceof Long id ? id : null;
+        String assignee = task.getAssignee();
+        Set<String> candidateGroups = task.getCandidates().stream()
+                .filter(link -> IdentityLinkType.CANDIDATE.equals(link.getType()) && link.getGroupId() != null)
+                .map(IdentityLink::getGroupId)
+                .collect(Collectors.toSet());
+
+        ChangeEvent event = new ChangeEvent(type, task.getId(), task.getTaskDefinitionKey(),
+                task.getProcessInstanceId(), assignee, ideaId, null);
+        publishAfterCommit(event, subscriber -> subscriber.isAdmin()
+                || subscriber.username.equals(assignee)
+                || candidateGroups.stream().anyMatch(subscriber.groups::contains));
+    }
+
+    @EventListener
+    public void onIdeaStatusChanged(IdeaStatusChangedEvent statusChange) {
+        if (subscribers.isEmpty()) {
+            return;
+        }
+        // The creator of an idea never changes, a cached copy is enough
+        String createdBy = ideaCache.findIdea(statusChange.ideaId()).map(Idea::getCreatedBy).orElse(null);
+        ChangeEvent event = new ChangeEvent(ChangeEvent.Type.IDEA_STATUS_CHANGED, null, null, null, null,
+                statusChange.ideaId(), statusChange.statut());
+        // Same visibility as GET /api/ideas: emitters only see their own ideas
+        publishAfterCommit(event, subscriber -> subscriber.isAdmin()
+                || !subscriber.groups.contains("EM")
+                || subscriber.username.equals(createdBy));
+    }
+
+    private void publishAfterCommit(ChangeEvent event, Predicate<Subscriber> audience) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(event, audience);
+                }
+            });
+        } else {
+            dispatch(event, audience);
+        }
+    }
+
+    private void dispatch(ChangeEvent event, Predicate<Subscriber> audience) {
+        for (Subscriber subscriber : subscribers) {
+            if (audience.test(subscriber)) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // Keeps idle connections open through proxies and detects dead clients
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:25000}")
+    public void heartbeat() {
+        subscribers.forEach(Subscriber::requestHeartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscribers.forEach(Subscriber::close);
+        senders.shutdownNow();
+    }
+
+    private final class Subscriber {
+
+        private final String username;
+        private final Set<String> groups;
+        private final SseEmitter emitter;
+        private final BlockingQueue<ChangeEvent> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean heartbeatDue;
+        private volatile boolean closed;
+
+        private Subscriber(String username, Set<String> groups, SseEmitter emitter, BlockingQueue<ChangeEvent> buffer) {
+            this.username = username;
+            this.groups = groups;
+            this.emitter = emitter;
+            this.buffer = buffer;
+        }
+
+        private boolean isAdmin() {
+            return groups.contains("camunda-admin");
+        }
+
+        private void offer(ChangeEvent event) {
+            if (!buffer.offer(event)) {
+                LOGGER.info("Dropping slow event subscriber '{}' ({} events buffered)", username, buffer.size());
+                close();
+                return;
+            }
+            scheduleDrain();
+        }
+
+        private void requestHeartbeat() {
+            heartbeatDue = true;
+            scheduleDrain();
+        }
+
+        private void scheduleDrain() {
+            if (!closed && draining.compareAndSet(false, true)) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            try {
+                if (heartbeatDue) {
+                    heartbeatDue = false;
+                    emitter.send(SseEmitter.event().comment("heartbeat"));
+                }
+                ChangeEvent event;
+                while (!closed && (event = buffer.poll()) != null) {
+                    emitter.send(SseEmitter.event().name(event.type().name()).data(event, MediaType.APPLICATION_JSON));
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+            } finally {
+                draining.set(false);
+                // An event may have been offered between the last poll and the reset of the flag
+                if (!buffer.isEmpty()) {
+                    scheduleDrain();
+                }
+            }
+        }
+
+        private void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                buffer.clear();
+                emitter.complete();
+            }
+        }
+    }
+}
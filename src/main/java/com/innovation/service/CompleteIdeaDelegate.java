@@ -1,7 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
-import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -15,7 +13,7 @@ public class CompleteIdeaDelegate implements JavaDelegate {
     private static final Logger LOGGER = LoggerFactory.getLogger(CompleteIdeaDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Override
     public void execute(DelegateExecution execution) throws Exception {
@@ -23,14 +21,7 @@ public class CompleteIdeaDelegate implements JavaDelegate {
         Long ideaId = (Long) execution.getVariable("ideaId");
         LOGGER.info("Executing CompleteIdeaDelegate for idea ID: {}", ideaId);
 
-        // Load the idea from the database
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
-        // Implement your logic here, for example, updating the status
-        idea.setStatut("EN_COURS_DE_QUALIFICATION");
-        ideaRepository.save(idea);
-
+        ideaStatusTransitions.moveToOrFail(ideaId, "EN_COURS_DE_QUALIFICATION");
         LOGGER.info("Idea {} status updated to EN_COURS_DE_QUALIFICATION", ideaId);
     }
-}
\ No newline at end of file
+}
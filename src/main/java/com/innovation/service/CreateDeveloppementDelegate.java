@@ -1,7 +1,6 @@
 package com.innovation.service;
 
 import com.innovation.domain.Developpement;
-import com.innovation.domain.Idea;
 import com.innovation.repository.DeveloppementRepository;
 import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
@@ -21,6 +20,9 @@ public class CreateDeveloppementDelegate implements JavaDelegate {
     @Autowired
     private IdeaRepository ideaRepository;
 
+    @Autowired
+    private IdeaStatusTransitions ideaStatusTransitions;
+
     @Autowired
     private DeveloppementRepository developpementRepository;
 
@@ -29,20 +31,16 @@ public class CreateDeveloppementDelegate implements JavaDelegate {
         Long ideaId = (Long) execution.getVariable("ideaId");
         LOGGER.info("Creating Developpement record for idea ID: {}", ideaId);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
         // Update idea status
-        idea.setStatut("EN_DEVELOPPEMENT");
-        ideaRepository.save(idea);
+        ideaStatusTransitions.moveToOrFail(ideaId, "EN_DEVELOPPEMENT");
 
-        // Create and save the new Developpement record
+        // Create and save the new Developpement record (a reference is enough for the foreign key)
         Developpement newDeveloppement = new Developpement();
-        newDeveloppement.setIdea(idea);
+        newDeveloppement.setIdea(ideaRepository.getReferenceById(ideaId));
         newDeveloppement.setStatutDev("EN_COURS");
         newDeveloppement.setDateLancement(LocalDate.now());
         developpementRepository.save(newDeveloppement);
 
         LOGGER.info("Developpement record created for idea ID: {}", ideaId);
     }
-}
\ No newline at end of file
+}
@@ -1,6 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
 import com.innovation.domain.POC;
 import com.innovation.repository.IdeaRepository;
 import com.innovation.repository.POCRepository;
@@ -23,6 +22,9 @@ public class CreatePocDelegate implements JavaDelegate {
     @Autowired
     private IdeaRepository ideaRepository;
 
+    @Autowired
+    private IdeaStatusTransitions ideaStatusTransitions;
+
     @Autowired
     private POCRepository pocRepository;
 
@@ -31,16 +33,12 @@ public class CreatePocDelegate implements JavaDelegate {
         Long ideaId = (Long) execution.getVariable("ideaId");
         LOGGER.info("Creating POC record for idea ID: {}", ideaId);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
         // Update idea status
-        idea.setStatut("POC_EN_COURS");
-        ideaRepository.save(idea);
+        ideaStatusTransitions.moveToOrFail(ideaId, "POC_EN_COURS");
 
-        // Create and save the new POC record
+        // Create and save the new POC record (a reference is enough for the foreign key)
         POC newPoc = new POC();
-        newPoc.setIdea(idea);
+        newPoc.setIdea(ideaRepository.getReferenceById(ideaId));
         pocRepository.save(newPoc);
 
         // --- ADD THIS LOGIC ---
@@ -51,4 +49,4 @@ public class CreatePocDelegate implements JavaDelegate {
 
         LOGGER.info("POC record created for idea ID: {} with deadline: {}", ideaId, dateEcheance);
     }
-}
\ No newline at end of file
+}
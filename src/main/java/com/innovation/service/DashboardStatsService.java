@@ -0,0 +1,89 @@
+package com.innovation.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Computes the dashboard numbers from {@link PortfolioCounters}: no query is run, and the work depends on the number
+ * of (statut, priority, createdBy) combinations, not on the number of ideas.
+ */
+@Service
+public class DashboardStatsService {
+
+    private static final Set<String> IN_PROGRESS = Set.of("EN_COURS_DE_QUALIFICATION", "POC_EN_COURS", "EN_DEVELOPPEMENT");
+
+    @Autowired
+    private PortfolioCounters portfolioCounters;
+
+    // Every idea
+    public Map<String, Object> getStats() {
+        return compute(null);
+    }
+
+    // Only the ideas submitted by the given user
+    public Map<String, Object> getStatsFor(String createdBy) {
+        return compute(createdBy);
+    }
+
+    private Map<String, Object> compute(String createdBy) {
+        if (!portfolioCounters.isSeeded()) {
+            // Request served before the application was ready
+            portfolioCounters.seed();
+        }
+
+        long totalIdeas = 0;
+        long ideasInProgress = 0;
+        long ideasRealisee = 0;
+        long ideasAjournee = 0;
+        long highPriority = 0;
+        long mediumPriority = 0;
+        long lowPriority = 0;
+        long unassignedPriority = 0;
+
+        for (Map.Entry<PortfolioCounters.Key, Long> entry : portfolioCounters.snapshot().entrySet()) {
+            PortfolioCounters.Key key = entry.getKey();
+            if (createdBy != null && !createdBy.equals(key.createdBy())) {
+                continue;
+            }
+            String statut = key.statut();
+            String priority = key.priority();
+            long count = entry.getValue();
+
+            totalIdeas += count;
+            if (statut != null && IN_PROGRESS.contains(statut)) {
+                ideasInProgress += count;
+            } else if ("REALISEE".equals(statut)) {
+                ideasRealisee += count;
+            } else if ("AJOURNEE".equals(statut)) {
+                ideasAjournee += count;
+            }
+
+            if (priority == null) {
+                unassignedPriority += count;
+            } else if (priority.equals("High")) {
+                highPriority += count;
+            } else if (priority.equals("Medium")) {
+                mediumPriority += count;
+            } else if (priority.equals("Low")) {
+                lowPriority += count;
+            }
+        }
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalIdeas", totalIdeas);
+        stats.put("ideasInProgress", ideasInProgress);
+        stats.put("ideasRealisee", ideasRealisee);
+        stats.put("ideasAjournee", ideasAjournee);
+        stats.put("priorityStats", Map.of(
+                "high", highPriority,
+                "medium", mediumPriority,
+                "low", lowPriority,
+                "unassigned", unassignedPriority
+        ));
+        return stats;
+    }
+}
@@ -0,0 +1,84 @@
+package com.innovation.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+// Deadline alert emails, queued by SendAlertDelegate (reminder timers) or by ReminderSweeper, one by one or in digests
+@Service
+public class DeadlineAlertService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadlineAlertService.class);
+
+    @Autowired
+    private IdentityDirectory identityDirectory;
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private AlertDigestService alertDigestService;
+
+    @Value("${app.admin.email}")
+    private String adminEmail;
+
+    @Value("${app.mail.from:no-reply@innovation.local}")
+    private String fromEmail;
+
+    public String getEmailForUser(String userId) {
+        try {
+            return identityDirectory.getEmail(userId);
+        } catch (Exception e) {
+            LOGGER.warn("Could not resolve email for Camunda user '{}': {}", userId, e.getMessage());
+            return null;
+        }
+    }
+
+    // userId -> email of all given users; users without an email are left out
+    public Map<String, String> getEmailsForUsers(Collection<String> userIds) {
+        return identityDirectory.getEmails(userIds);
+    }
+
+    /**
+     * Queues the alert (see {@link EmailOutbox}) for the assignee's email, or for the admin when there is no assignee
+     * or the assignee has no email; in digest mode, buffers it for the next digest of that recipient instead
+     * ({@link AlertDigestService}). At most one alert per process instance, overdue task and day: activityId is the
+     * definition key of the overdue task in both reminder modes. Returns the recipient.
+     */
+    public String send(Long ideaId, String ideaTitle, String processInstanceId, String activityId, String assignee,
+                       String assigneeEmail) {
+        String toEmail = assigneeEmail != null && !assigneeEmail.isBlank() ? assigneeEmail : adminEmail;
+        String dedupKey = processInstanceId + ":" + activityId + ":" + LocalDate.now();
+        if (alertDigestService.isEnabled()) {
+            alertDigestService.add(dedupKey, toEmail, ideaId, ideaTitle, processInstanceId, activityId, assignee);
+            return toEmail;
+        }
+        String subject = "[Innovation] Deadline passed for Idea #" + ideaId + " – " + ideaTitle;
+        String body = buildBody(ideaId, ideaTitle, processInstanceId, assignee);
+        emailOutbox.enqueue(dedupKey, toEmail, subject, body, fromEmail);
+        return toEmail;
+    }
+
+    private String buildBody(Long ideaId, String ideaTitle, String processInstanceId, String assignee) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("Hello,\n\n");
+        sb.append("A deadline has passed for the following item:\n\n");
+        sb.append("• Idea ID: ").append(ideaId).append("\n");
+        sb.append("• Title: ").append(ideaTitle).append("\n");
+        sb.append("• Process Instance: ").append(processInstanceId).append("\n");
+        if (assignee != null) {
+            sb.append("• Assigned to: ").append(assignee).append("\n");
+        } else {
+            sb.append("• Assigned to: (none) – sent to admin\n");
+        }
+        sb.append("\nPlease review and take action.\n\n");
+        sb.append("Regards,\nInnovation Workflow");
+        return sb.toString();
+    }
+}
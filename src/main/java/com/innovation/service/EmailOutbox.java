@@ -0,0 +1,261 @@
+package com.innovation.service;
+
+import com.innovation.domain.EmailOutboxMessage;
+import com.innovation.repository.EmailOutboxMessageRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Transactional outbox of the emails sent by the workflow.
+ * <p>
+ * {@link #enqueue} only inserts a row, in the caller's transaction (the Camunda job for delegates): no SMTP
+ * conversation holds a job executor thread, and an email whose transaction rolls back is never sent. A pool of
+ * {@code app.mail.outbox.threads} dispatchers drains the table after each commit and every
+ * {@code app.mail.outbox.poll-ms}: each claims a batch of due messages with one guarded UPDATE and sends it over a
+ * single SMTP connection. Failed messages are retried with exponential backoff until
+ * {@code app.mail.outbox.max-attempts}. A deduplication key makes a repeated enqueue (retried job, second sweep)
+ * a no-op. Messages claimed longer than {@code app.mail.outbox.claim-timeout} ago, by a dispatcher that stopped here
+ * or on another instance, are queued again.
+ */
+@Service
+public class EmailOutbox {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(EmailOutbox.class);
+
+    @Autowired
+    private EmailOutboxMessageRepository repository;
+
+    @Autowired
+    private JavaMailSender mailSender;
+
+    @Value("${app.mail.from:no-reply@innovation.local}")
+    private String defaultFrom;
+
+    @Value("${app.mail.outbox.threads:2}")
+    private int threads;
+
+    @Value("${app.mail.outbox.batch-size:20}")
+    private int batchSize;
+
+    @Value("${app.mail.outbox.max-attempts:8}")
+    private int maxAttempts;
+
+    @Value("${app.mail.outbox.initial-backoff:30s}")
+    private Duration initialBackoff;
+
+    @Value("${app.mail.outbox.max-backoff:1h}")
+    private Duration maxBackoff;
+
+    @Value("${app.mail.outbox.claim-timeout:10m}")
+    private Duration claimTimeout;
+
+    private ExecutorService dispatchers;
+    private final AtomicInteger runningDispatchers = new AtomicInteger();
+
+    @PostConstruct
+    public void start() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        dispatchers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "mail-outbox-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        dispatchers.shutdown();
+    }
+
+    /**
+     * Queues an email, sent after the current transaction commits (right away without one). Returns false, and
+     * queues nothing, when an email with the same dedupKey was already queued.
+     */
+    public boolean enqueue(String dedupKey, String to, String subject, String body, String fromOverride) {
+        if (dedupKey != null && repository.existsByDedupKey(dedupKey)) {
+            LOGGER.info("Email '{}' to {} not queued: already queued with key {}", subject, to, dedupKey);
+            return false;
+        }
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setDedupKey(dedupKey);
+        message.setRecipient(to);
+        message.setSender(fromOverride != null ? fromOverride : defaultFrom);
+        message.setSubject(subject);
+        message.setBody(body);
+        message.setStatus("PENDING");
+        message.setCreatedAt(LocalDateTime.now());
+        message.setNextAttemptAt(message.getCreatedAt());
+        repository.save(message);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    wake();
+                }
+            });
+        } else {
+            wake();
+        }
+        return true;
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new HashMap<>();
+        for (String status : List.of("PENDING", "SENDING", "SENT", "FAILED")) {
+            statistics.put(status.toLowerCase(), repository.countByStatus(status));
+        }
+        return statistics;
+    }
+
+    // --- Dispatch ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onStartup() {
+        releaseStaleClaims();
+        wake();
+    }
+
+    // Retries, messages whose wake-up was lost and abandoned claims
+    @Scheduled(initialDelayString = "${app.mail.outbox.poll-ms:5000}", fixedDelayString = "${app.mail.outbox.poll-ms:5000}")
+    public void poll() {
+        releaseStaleClaims();
+        wake();
+    }
+
+    // A claim is only stale after claim-timeout: a younger one may belong to a dispatcher still sending its batch,
+    // possibly on another instance, and releasing it would send its messages twice
+    public int releaseStaleClaims() {
+        int released = repository.releaseClaims(LocalDateTime.now().minus(claimTimeout));
+        if (released > 0) {
+            LOGGER.warn("{} outbox emails claimed more than {} ago and not confirmed sent are queued again", released, claimTimeout);
+        }
+        return released;
+    }
+
+    // Starts one more dispatcher unless all of them are running; a running dispatcher drains until nothing is due
+    private void wake() {
+        int running = runningDispatchers.get();
+        if (running < threads && runningDispatchers.compareAndSet(running, running + 1)) {
+            dispatchers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        try {
+            while (true) {
+                List<EmailOutboxMessage> batch = claimBatch();
+                if (batch.isEmpty()) {
+                    return;
+                }
+                send(batch);
+            }
+        } catch (Exception e) {
+            LOGGER.error("Outbox dispatcher stopped: {}", e.getMessage(), e);
+        } finally {
+            runningDispatchers.decrementAndGet();
+        }
+    }
+
+    private List<EmailOutboxMessage> claimBatch() {
+        List<Long> dueIds = repository.findDueIds(LocalDateTime.now(), PageRequest.of(0, batchSize));
+        if (dueIds.isEmpty()) {
+            return List.of();
+        }
+        String claimToken = UUID.randomUUID().toString();
+        if (repository.claim(dueIds, claimToken, LocalDateTime.now()) == 0) {
+            // Claimed by another dispatcher in the meantime
+            return claimBatch();
+        }
+        return repository.findByClaimToken(claimToken);
+    }
+
+    private void send(List<EmailOutboxMessage> batch) {
+        Map<SimpleMailMessage, EmailOutboxMessage> messages = new IdentityHashMap<>();
+        for (EmailOutboxMessage message : batch) {
+            SimpleMailMessage mail = new SimpleMailMessage();
+            mail.setTo(message.getRecipient());
+            mail.setFrom(message.getSender());
+            mail.setSubject(message.getSubject());
+            mail.setText(message.getBody());
+            messages.put(mail, message);
+        }
+
+        // Sending an array uses one connection for the whole batch
+        Set<Object> failed = Collections.newSetFromMap(new IdentityHashMap<>());
+        String error = null;
+        try {
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            error = e.getMessage();
+            failed.addAll(e.getFailedMessages().isEmpty() ? messages.keySet() : e.getFailedMessages().keySet());
+        } catch (MailException e) {
+            error = e.getMessage();
+            failed.addAll(messages.keySet());
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SimpleMailMessage, EmailOutboxMessage> entry : messages.entrySet()) {
+            EmailOutboxMessage message = entry.getValue();
+            message.setClaimToken(null);
+            message.setClaimedAt(null);
+            message.setAttempts(message.getAttempts() + 1);
+            if (!failed.contains(entry.getKey())) {
+                message.setStatus("SENT");
+                message.setSentAt(now);
+                message.setLastError(null);
+            } else if (message.getAttempts() >= maxAttempts) {
+                message.setStatus("FAILED");
+                message.setLastError(truncate(error));
+                LOGGER.error("Email {} to {} given up after {} attempts: {}", message.getId(), message.getRecipient(),
+                        message.getAttempts(), error);
+            } else {
+                message.setStatus("PENDING");
+                message.setNextAttemptAt(now.plus(backoff(message.getAttempts())));
+                message.setLastError(truncate(error));
+            }
+        }
+        repository.saveAll(batch);
+        if (!failed.isEmpty()) {
+            LOGGER.warn("{} of {} outbox emails not sent, retried later: {}", failed.size(), batch.size(), error);
+        }
+    }
+
+    // initial-backoff, doubled after each failed attempt, at most max-backoff
+    private Duration backoff(int attempts) {
+        Duration backoff = initialBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+    }
+
+    private static String truncate(String error) {
+        return error == null || error.length() <= 1000 ? error : error.substring(0, 1000);
+    }
+}
@@ -1,50 +1,192 @@
 package com.innovation.service;
 
+import com.innovation.domain.Document;
+import com.innovation.domain.StoredBlob;
+import com.innovation.repository.StoredBlobRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.UUID;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.concurrent.locks.ReentrantLock;
 
+/**
+ * Content-addressed storage of the uploaded documents: a file is stored once under {@code uploads/ab/cd/<sha256>},
+ * however many documents have this content, and deleted with the last of them. The two levels of directories keep
+ * each directory small.
+ * <p>
+ * An upload is hashed while it is streamed to a temporary file, which is then renamed to its final path unless the
+ * content is already stored. References are counted in {@link StoredBlob}, in the transaction that creates or deletes
+ * the document. A lock of the hash is held from the new reference until that transaction completes, and taken again to
+ * delete a file that lost its last reference, so that an upload and the deletion of the same content cannot
+ * interleave.
+ */
 @Service
 public class FileStorageService {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(FileStorageService.class);
+
     // Define the root location for file uploads.
     // For development, this will create a folder named "uploads" in your project's root directory.
     private final Path rootLocation = Paths.get("uploads");
+    // Uploads being hashed, on the same file system as the blobs so that the final rename is atomic
+    private final Path tempLocation = rootLocation.resolve("tmp");
+
+    // Released by the thread that took them, in afterCompletion: reentrant locks rather than monitors
+    private final ReentrantLock[] locks = new ReentrantLock[64];
+
+    @Autowired
+    private StoredBlobRepository storedBlobRepository;
+
+    // Stored content of an upload
+    public record StoredFile(String sha256, long size, String path) {
+    }
 
     public FileStorageService() {
         try {
-            Files.createDirectories(rootLocation);
+            Files.createDirectories(tempLocation);
         } catch (IOException e) {
             throw new RuntimeException("Could not initialize storage location", e);
         }
+        for (int i = 0; i < locks.length; i++) {
+            locks[i] = new ReentrantLock();
+        }
     }
 
-    public String storeFile(MultipartFile file) {
+    /**
+     * Stores the content of an upload, unless the same content is already stored, and adds a reference to it in the
+     * current transaction, which must also create the document (see {@link IdeaService#addDocument}). If that
+     * transaction rolls back, the reference goes with it, and the file is deleted when no other document has it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public StoredFile storeFile(MultipartFile file) {
+        if (file.isEmpty()) {
+            throw new RuntimeException("Failed to store empty file.");
+        }
+        Path tempFile = null;
         try {
-            if (file.isEmpty()) {
-                throw new RuntimeException("Failed to store empty file.");
+            tempFile = Files.createTempFile(tempLocation, "upload-", ".tmp");
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(file.getInputStream(), sha256)) {
+                Files.copy(in, tempFile, StandardCopyOption.REPLACE_EXISTING);
             }
+            String hash = HexFormat.of().formatHex(sha256.digest());
+            long size = Files.size(tempFile);
+            Path blobFile = blobPath(hash);
 
-            // Generate a unique filename to prevent conflicts
-            String originalFilename = file.getOriginalFilename();
-            String uniqueFilename = UUID.randomUUID().toString() + "_" + originalFilename;
+            ReentrantLock lock = lockOf(hash);
+            lock.lock();
+            boolean unlockOnCompletion = false;
+            try {
+                addReference(hash, size);
+                if (Files.exists(blobFile)) {
+                    LOGGER.debug("Upload '{}' has the content of blob {}, not stored again", file.getOriginalFilename(), hash);
+                } else {
+                    Files.createDirectories(blobFile.getParent());
+                    Files.move(tempFile, blobFile, StandardCopyOption.ATOMIC_MOVE);
+                }
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCompletion(int status) {
+                        try {
+                            if (status != STATUS_COMMITTED) {
+                                deleteUnreferencedBlob(hash);
+                            }
+                        } finally {
+                            lock.unlock();
+                        }
+                    }
+                });
+                unlockOnCompletion = true;
+            } finally {
+                if (!unlockOnCompletion) {
+                    lock.unlock();
+                }
+            }
+            return new StoredFile(hash, size, rootLocation.resolve(relativePath(hash)).toString());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new RuntimeException("Failed to store file.", e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException e) {
+                    LOGGER.warn("Could not delete temporary upload {}: {}", tempFile, e.getMessage());
+                }
+            }
+        }
+    }
 
-            // Resolve the final path and save the file
-            Path destinationFile = this.rootLocation.resolve(Paths.get(uniqueFilename))
-                    .normalize().toAbsolutePath();
+    private void addReference(String hash, long size) {
+        if (storedBlobRepository.addReference(hash) == 0) {
+            StoredBlob blob = new StoredBlob();
+            blob.setSha256(hash);
+            blob.setSize(size);
+            blob.setRefCount(1);
+            blob.setCreatedAt(LocalDateTime.now());
+            storedBlobRepository.saveAndFlush(blob);
+        }
+    }
 
-            Files.copy(file.getInputStream(), destinationFile);
+    // True when it was the last reference
+    private boolean removeReference(String hash) {
+        storedBlobRepository.removeReference(hash);
+        return storedBlobRepository.deleteUnreferenced(hash) > 0;
+    }
 
-            return uniqueFilename; // Return the new, unique filename
+    /**
+     * Gives back the reference of a document to its content; the file is deleted when no document references it
+     * anymore, once the transaction has committed.
+     */
+    @Transactional
+    public void deleteFile(Document document) {
+        String hash = document.getContentHash();
+        if (hash == null) {
+            // Stored before content addressing: one file per document
+            deleteFile(document.getFileName());
+            return;
+        }
+        if (!removeReference(hash)) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                deleteUnreferencedBlob(hash);
+            }
+        });
+    }
 
+    private void deleteUnreferencedBlob(String hash) {
+        ReentrantLock lock = lockOf(hash);
+        lock.lock();
+        try {
+            // Referenced by another document, or uploaded again in the meantime
+            if (storedBlobRepository.existsById(hash)) {
+                return;
+            }
+            Files.deleteIfExists(blobPath(hash));
         } catch (IOException e) {
-            throw new RuntimeException("Failed to store file.", e);
+            LOGGER.warn("Could not delete blob {}: {}", hash, e.getMessage());
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -60,4 +202,17 @@ public class FileStorageService {
             throw new RuntimeException("Could not delete the file. Error: " + e.getMessage());
         }
     }
-}
\ No newline at end of file
+
+    private Path blobPath(String hash) {
+        return rootLocation.resolve(relativePath(hash)).normalize().toAbsolutePath();
+    }
+
+    // ab/cd/abcd...: at most 256 directories per level
+    private static String relativePath(String hash) {
+        return hash.substring(0, 2) + "/" + hash.substring(2, 4) + "/" + hash;
+    }
+
+    private ReentrantLock lockOf(String hash) {
+        return locks[Integer.parseInt(hash.substring(0, 2), 16) % locks.length];
+    }
+}
@@ -0,0 +1,150 @@
+package com.innovation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.innovation.domain.Developpement;
+import com.innovation.domain.Idea;
+import com.innovation.domain.POC;
+import com.innovation.repository.IdeaRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Read-through cache of {@link Idea}s for the paths that only read them (alerts, deadline checks, task details, events).
+ * Ideas returned from the cache are shared and detached: callers must not modify them. Write paths keep loading managed
+ * entities from the repositories.
+ * <p>
+ * {@code app.cache.idea.mode} selects the implementation:
+ * <ul>
+ *     <li>{@code service}: a Caffeine cache held here, bounded by size and time-to-live, evicted by
+ *     {@link IdeaCacheListener} whenever an idea is persisted, updated or removed;</li>
+ *     <li>{@code second-level}: the Hibernate second-level cache regions of {@link Idea}, {@link POC} and
+ *     {@link Developpement} (see {@link com.innovation.config.CacheConfig}), which also serve every {@code findById}
+ *     of the write paths;</li>
+ *     <li>{@code none}: no cache.</li>
+ * </ul>
+ */
+@Service
+public class IdeaCache {
+
+    public enum Mode {
+        SERVICE, SECOND_LEVEL, NONE;
+
+        public static Mode fromProperty(String value) {
+            return Mode.valueOf(value.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        }
+    }
+
+    // Regions of the second-level cache, also used as names in the statistics
+    public static final String IDEA_REGION = "idea";
+    public static final String POC_REGION = "poc";
+    public static final String DEVELOPPEMENT_REGION = "developpement";
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final Mode mode;
+    private final Cache<Long, Idea> ideas;
+
+    public IdeaCache(@Value("${app.cache.idea.mode:service}") String mode,
+                     @Value("${app.cache.idea.maximum-size:10000}") long maximumSize,
+                     @Value("${app.cache.idea.ttl:10m}") Duration ttl) {
+        this.mode = Mode.fromProperty(mode);
+        this.ideas = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Mode getMode() {
+        return mode;
+    }
+
+    public Optional<Idea> findIdea(Long ideaId) {
+        if (mode != Mode.SERVICE) {
+            return ideaRepository.findById(ideaId);
+        }
+        return Optional.ofNullable(ideas.get(ideaId, id -> ideaRepository.findById(id).orElse(null)));
+    }
+
+    // --- Invalidation ---
+
+    /**
+     * Drops the cached copy of an idea. Called at flush time and again when the transaction completes, so that
+     * a value loaded by another thread between the two cannot survive.
+     */
+    public void evict(Object entity) {
+        if (mode != Mode.SERVICE) {
+            return;
+        }
+        if (!(entity instanceof Idea idea) || idea.getId() == null) {
+            return;
+        }
+        Long ideaId = idea.getId();
+        Runnable eviction = () -> ideas.invalidate(ideaId);
+        eviction.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    eviction.run();
+                }
+            });
+        }
+    }
+
+    // Used by the write paths that bypass the entity lifecycle (bulk JPQL updates)
+    public void evictIdea(Long ideaId) {
+        Idea idea = new Idea();
+        idea.setId(ideaId);
+        evict(idea);
+    }
+
+    // --- Statistics ---
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("mode", mode.name().toLowerCase(Locale.ROOT).replace('_', '-'));
+        if (mode == Mode.SERVICE) {
+            statistics.put(IDEA_REGION, toMap(ideas.stats(), ideas.estimatedSize()));
+        } else if (mode == Mode.SECOND_LEVEL) {
+            var hibernateStatistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            for (String region : new String[]{IDEA_REGION, POC_REGION, DEVELOPPEMENT_REGION}) {
+                CacheRegionStatistics regionStatistics = hibernateStatistics.getDomainDataRegionStatistics(region);
+                Map<String, Object> values = new LinkedHashMap<>();
+                values.put("hits", regionStatistics.getHitCount());
+                values.put("misses", regionStatistics.getMissCount());
+                values.put("puts", regionStatistics.getPutCount());
+                statistics.put(region, values);
+            }
+        }
+        return statistics;
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        values.put("size", size);
+        return values;
+    }
+}
@@ -0,0 +1,23 @@
+package com.innovation.service;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+
+// JPA listener of Idea: every save path goes through it, whoever calls the repository
+public class IdeaCacheListener {
+
+    // Lazy: listeners are created with the EntityManagerFactory, before the repositories IdeaCache depends on
+    @Autowired
+    @Lazy
+    private IdeaCache ideaCache;
+
+    @PostPersist
+    @PostUpdate
+    @PostRemove
+    public void evict(Object entity) {
+        ideaCache.evict(entity);
+    }
+}
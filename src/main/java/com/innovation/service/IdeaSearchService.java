@@ -0,0 +1,330 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.dto.IdeaSummaryDto;
+import com.innovation.repository.IdeaRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.StopFilter;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.fr.FrenchAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.ASCIIFoldingFilter;
+import org.apache.lucene.analysis.standard.StandardTokenizer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.util.ElisionFilter;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Embedded Lucene index over the title and description of every idea, stored in {@code app.search.index-dir}.
+ * <p>
+ * Text is tokenized for French (elisions, stop words) and folded to ASCII, so "idée" and "idee" match. Results are
+ * ranked with BM25 (the Lucene default), the title weighing twice the description, and the last word of the query is
+ * also matched as a prefix. The index is updated by {@link IdeaService} when ideas are created, edited or deleted and
+ * only rebuilt at startup when its size differs from the idea table. It returns ids only: the rows are then read from
+ * the database so that statuses and priorities are always current.
+ * <p>
+ * Updates are made visible to searches by a near-real-time reopen of the searcher, without fsync; they are committed
+ * to disk every {@code app.search.commit-interval-ms} and at shutdown. A crash loses at most that interval of changes,
+ * and the startup check rebuilds the index when ideas were created or deleted in it.
+ */
+@Service
+public class IdeaSearchService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdeaSearchService.class);
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final String ID = "id";
+    private static final String TITRE = "titre";
+    private static final String DESCRIPTION = "description";
+    private static final String CREATED_BY = "createdBy";
+
+    private static final int REBUILD_BATCH_SIZE = 1000;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Value("${app.search.index-dir:./search-index}")
+    private String indexDir;
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private final Analyzer analyzer = new FrenchFoldingAnalyzer();
+    private FSDirectory directory;
+    private IndexWriter writer;
+    private SearcherManager searcherManager;
+
+    @PostConstruct
+    public void open() throws IOException {
+        directory = FSDirectory.open(Path.of(indexDir));
+        writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        writer.commit();
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // --- Maintenance ---
+
+    // Indexes (or re-indexes) an idea once the surrounding transaction, if any, has committed
+    public void index(Idea idea) {
+        Document document = toDocument(idea);
+        String id = idea.getId().toString();
+        afterCommit(() -> {
+            writer.updateDocument(new Term(ID, id), document);
+            refresh();
+        });
+    }
+
+    public void remove(Long ideaId) {
+        afterCommit(() -> {
+            writer.deleteDocuments(new Term(ID, ideaId.toString()));
+            refresh();
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfOutOfSync() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long ideas = ideaRepository.count();
+        int documents = writer.getDocStats().numDocs;
+        if (ideas != documents) {
+            LOGGER.info("Idea search index out of sync ({} documents for {} ideas), rebuilding", documents, ideas);
+            rebuild();
+        }
+    }
+
+    public int rebuild() {
+        try {
+            writer.deleteAll();
+            int total = 0;
+            Page<Idea> page = ideaRepository.findAll(PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("id")));
+            while (true) {
+                for (Idea idea : page) {
+                    writer.addDocument(toDocument(idea));
+                }
+                total += page.getNumberOfElements();
+                if (!page.hasNext()) {
+                    break;
+                }
+                page = ideaRepository.findAll(page.nextPageable());
+            }
+            commit();
+            LOGGER.info("Idea search index rebuilt with {} documents", total);
+            return total;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not rebuild the idea search index", e);
+        }
+    }
+
+    private static Document toDocument(Idea idea) {
+        Document document = new Document();
+        document.add(new StringField(ID, idea.getId().toString(), Field.Store.YES));
+        if (idea.getTitre() != null) {
+            document.add(new TextField(TITRE, idea.getTitre(), Field.Store.NO));
+        }
+        if (idea.getDescription() != null) {
+            document.add(new TextField(DESCRIPTION, idea.getDescription(), Field.Store.NO));
+        }
+        if (idea.getCreatedBy() != null) {
+            document.add(new StringField(CREATED_BY, idea.getCreatedBy(), Field.Store.NO));
+        }
+        return document;
+    }
+
+    // Near-real-time: the searcher sees the writer's pending changes without a commit. Blocking, so that the change
+    // is visible when the request that made it returns
+    private void refresh() throws IOException {
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    private void commit() throws IOException {
+        writer.commit();
+        refresh();
+    }
+
+    @Scheduled(initialDelayString = "${app.search.commit-interval-ms:60000}",
+            fixedDelayString = "${app.search.commit-interval-ms:60000}")
+    public void commitPending() {
+        if (!writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException e) {
+            LOGGER.error("Could not commit the idea search index", e);
+        }
+    }
+
+    private interface IndexUpdate {
+        void run() throws IOException;
+    }
+
+    private void afterCommit(IndexUpdate update) {
+        Runnable apply = () -> {
+            try {
+                update.run();
+            } catch (IOException e) {
+                // The next startup will see the count mismatch and rebuild the index
+                LOGGER.error("Could not update the idea search index", e);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply.run();
+                }
+            });
+        } else {
+            apply.run();
+        }
+    }
+
+    // --- Search ---
+
+    /**
+     * Ideas matching every word of the query, best first. A non-null createdBy restricts the results to the ideas
+     * of that user.
+     */
+    public List<IdeaSummaryDto> search(String text, String createdBy, int limit) {
+        Query query = buildQuery(text, createdBy);
+        if (query == null) {
+            return new ArrayList<>();
+        }
+
+        List<Long> ids = new ArrayList<>();
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                for (ScoreDoc hit : searcher.search(query, Math.max(1, Math.min(limit, MAX_RESULTS))).scoreDocs) {
+                    ids.add(Long.valueOf(searcher.storedFields().document(hit.doc).get(ID)));
+                }
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not search ideas", e);
+        }
+
+        Map<Long, Idea> ideas = ideaRepository.findAllById(ids).stream()
+                .collect(Collectors.toMap(Idea::getId, Function.identity()));
+        List<IdeaSummaryDto> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Idea idea = ideas.get(id);
+            if (idea != null) {
+                results.add(new IdeaSummaryDto(idea.getId(), idea.getTitre(), idea.getStatut(), idea.getPriority(),
+                        idea.getDateCreation(), idea.getCreatedBy()));
+            }
+        }
+        return results;
+    }
+
+    private Query buildQuery(String text, String createdBy) {
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return null;
+        }
+        // Still typing the last word: "solair" finds "solaire"
+        boolean prefixLast = !Character.isWhitespace(text.charAt(text.length() - 1));
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (int i = 0; i < terms.size(); i++) {
+            String term = terms.get(i);
+            BooleanQuery.Builder anyField = new BooleanQuery.Builder()
+                    .add(new BoostQuery(new TermQuery(new Term(TITRE, term)), 2f), BooleanClause.Occur.SHOULD)
+                    .add(new TermQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            if (prefixLast && i == terms.size() - 1) {
+                anyField.add(new BoostQuery(new PrefixQuery(new Term(TITRE, term)), 2f), BooleanClause.Occur.SHOULD)
+                        .add(new PrefixQuery(new Term(DESCRIPTION, term)), BooleanClause.Occur.SHOULD);
+            }
+            query.add(anyField.build(), BooleanClause.Occur.MUST);
+        }
+        if (createdBy != null) {
+            query.add(new TermQuery(new Term(CREATED_BY, createdBy)), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return terms;
+        }
+        try (TokenStream stream = analyzer.tokenStream(TITRE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    // French tokenization without stemming (so that prefixes match what the user typed), folded to ASCII
+    static final class FrenchFoldingAnalyzer extends Analyzer {
+
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer source = new StandardTokenizer();
+            TokenStream result = new ElisionFilter(source, FrenchAnalyzer.DEFAULT_ARTICLES);
+            result = new LowerCaseFilter(result);
+            result = new StopFilter(result, FrenchAnalyzer.getDefaultStopSet());
+            result = new ASCIIFoldingFilter(result);
+            return new TokenStreamComponents(source, result);
+        }
+    }
+}
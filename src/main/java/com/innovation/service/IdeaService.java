@@ -5,10 +5,20 @@ import com.innovation.domain.Document;
 import com.innovation.domain.Idea;
 import com.innovation.domain.POC;
 import com.innovation.dto.FullIdeaDetailsDto;
+import com.innovation.dto.IdeaFilter;
+import com.innovation.dto.IdeaPageDto;
+import com.innovation.dto.IdeaSummaryDto;
 import com.innovation.repository.DeveloppementRepository;
 import com.innovation.repository.DocumentRepository;
 import com.innovation.repository.IdeaRepository;
+import com.innovation.repository.IdeaSpecifications;
 import com.innovation.repository.POCRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
 import org.camunda.bpm.engine.RuntimeService;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.runtime.ProcessInstance;
@@ -16,9 +26,17 @@ import org.camunda.bpm.engine.task.Task;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -33,11 +51,21 @@ public class IdeaService {
     @Autowired private TaskService taskService;
 
     @Autowired private DocumentRepository documentRepository;
+    @Autowired private FileStorageService fileStorageService;
     @Autowired private POCRepository pocRepository;
     @Autowired private DeveloppementRepository developpementRepository;
+    @Autowired private TaskInboxProjection taskInboxProjection;
+    @Autowired private IdeaSearchService ideaSearchService;
+    @Autowired private PortfolioCounters portfolioCounters;
+
+    @PersistenceContext private EntityManager entityManager;
+
+    public static final int MAX_PAGE_SIZE = 200;
 
     public Idea createIdea(Idea idea) {
         Idea savedIdea = ideaRepository.save(idea);
+        portfolioCounters.recordCreated(savedIdea);
+        ideaSearchService.index(savedIdea);
         Map<String, Object> variables = new HashMap<>();
         variables.put("ideaId", savedIdea.getId());
         runtimeService.startProcessInstanceByKey("innovation_process", savedIdea.getId().toString(), variables);
@@ -52,8 +80,11 @@ public class IdeaService {
         Idea idea = ideaRepository.findById(ideaId)
                 .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
 
+        String previousPriority = idea.getPriority();
         idea.setPriority(priority);
         ideaRepository.save(idea);
+        taskInboxProjection.refreshIdea(idea);
+        portfolioCounters.recordPriorityChanged(idea, previousPriority);
 
         Task task = taskService.createTaskQuery()
                 .processInstanceId(processInstanceId)
@@ -73,16 +104,29 @@ public class IdeaService {
     }
 
     public Idea updateIdea(Long ideaId, Idea ideaDetails) {
+        return updateIdea(ideaId, ideaDetails, null);
+    }
+
+    // expectedVersion (from If-Match) is checked here, a concurrent change after the read is caught by @Version
+    public Idea updateIdea(Long ideaId, Idea ideaDetails, Long expectedVersion) {
         Idea idea = ideaRepository.findById(ideaId)
                 .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
+        if (expectedVersion != null && !expectedVersion.equals(idea.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(Idea.class, ideaId);
+        }
         idea.setTitre(ideaDetails.getTitre());
         idea.setDescription(ideaDetails.getDescription());
-        return ideaRepository.save(idea);
+        Idea savedIdea = ideaRepository.save(idea);
+        taskInboxProjection.refreshIdea(savedIdea);
+        ideaSearchService.index(savedIdea);
+        return savedIdea;
     }
 
     @Transactional
     public void deleteIdea(Long ideaId) {
-        documentRepository.deleteAll(documentRepository.findByIdeaId(ideaId));
+        List<Document> documents = documentRepository.findByIdeaId(ideaId);
+        documentRepository.deleteAll(documents);
+        documents.forEach(fileStorageService::deleteFile);
         pocRepository.findByIdeaId(ideaId).ifPresent(pocRepository::delete);
         developpementRepository.findByIdeaId(ideaId).ifPresent(developpementRepository::delete);
 
@@ -97,54 +141,161 @@ public class IdeaService {
             LOGGER.warn("No running process instance found for idea ID: {}", ideaId);
         }
 
-        ideaRepository.deleteById(ideaId);
+        ideaRepository.findById(ideaId).ifPresent(idea -> {
+            portfolioCounters.recordDeleted(idea);
+            ideaRepository.delete(idea);
+        });
+        ideaSearchService.remove(ideaId);
         LOGGER.info("Deleted idea with ID: {}", ideaId);
     }
 
-    public FullIdeaDetailsDto getIdeaDetails(Long ideaId) {
+    // The reference to the stored content is added in the transaction that inserts the document: both or neither
+    @Transactional
+    public Document addDocument(Long ideaId, MultipartFile file) {
         Idea idea = ideaRepository.findById(ideaId)
                 .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
 
-        POC poc = pocRepository.findByIdeaId(ideaId).orElse(null);
-        Developpement developpement = developpementRepository.findByIdeaId(ideaId).orElse(null);
-        List<Document> documents = documentRepository.findByIdeaId(ideaId);
+        FileStorageService.StoredFile storedFile = fileStorageService.storeFile(file);
+        // The UI shows the part after the first '_'
+        String fileName = storedFile.sha256().substring(0, 8) + "_" + file.getOriginalFilename();
 
-        return new FullIdeaDetailsDto(idea, poc, developpement, documents);
+        Document document = new Document();
+        document.setIdea(idea);
+        document.setFileName(fileName);
+        document.setFileType(file.getContentType());
+        document.setFilePath(storedFile.path());
+        document.setContentHash(storedFile.sha256());
+        document.setFileSize(storedFile.size());
+        document.setUploadDate(LocalDateTime.now());
+        return documentRepository.saveAndFlush(document);
     }
 
-    // Existing global filter (unchanged)
-    public List<Idea> getFilteredIdeas(String status, String priority) {
-        boolean hasStatus = status != null && !status.isEmpty();
-        boolean hasPriority = priority != null && !priority.isEmpty();
+    @Transactional
+    public void deleteDocument(Long documentId) {
+        Document document = documentRepository.findById(documentId)
+                .orElseThrow(() -> new RuntimeException("Document not found with id: " + documentId));
+        documentRepository.delete(document);
+        // Then its reference to the stored content, deleted with the last one once committed
+        fileStorageService.deleteFile(document);
+    }
 
-        if (hasStatus && hasPriority) {
-            return ideaRepository.findByStatutAndPriority(status, priority);
-        } else if (hasStatus) {
-            return ideaRepository.findByStatut(status);
-        } else if (hasPriority) {
-            return ideaRepository.findByPriority(priority);
-        } else {
-            return ideaRepository.findAll();
+    // Two statements: the idea joined with its POC and developpement, then a projection of its documents
+    @Transactional(readOnly = true)
+    public FullIdeaDetailsDto getIdeaDetails(Long ideaId) {
+        List<Object[]> rows = entityManager.createQuery(
+                        "select i, p, d from Idea i"
+                                + " left join POC p on p.idea = i"
+                                + " left join Developpement d on d.idea = i"
+                                + " where i.id = :ideaId", Object[].class)
+                .setParameter("ideaId", ideaId)
+                .getResultList();
+        if (rows.isEmpty()) {
+            throw new RuntimeException("Idea not found with id: " + ideaId);
         }
+        Object[] row = rows.get(0);
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<FullIdeaDetailsDto.DocumentSummary> cq = cb.createQuery(FullIdeaDetailsDto.DocumentSummary.class);
+        Root<Document> document = cq.from(Document.class);
+        cq.select(cb.construct(FullIdeaDetailsDto.DocumentSummary.class, document.get("id"), document.get("fileName"),
+                document.get("fileType"), document.get("uploadDate")));
+        cq.where(cb.equal(document.get("idea").get("id"), ideaId));
+        cq.orderBy(cb.asc(document.get("id")));
+        List<FullIdeaDetailsDto.DocumentSummary> documents = entityManager.createQuery(cq).getResultList();
+
+        return new FullIdeaDetailsDto((Idea) row[0], (POC) row[1], (Developpement) row[2], documents);
     }
 
-    // NEW: same filter but scoped to a specific creator (DB-side)
-    public List<Idea> getFilteredIdeasForCreator(String status, String priority, String createdBy) {
-        if (createdBy == null || createdBy.isEmpty()) {
-            return getFilteredIdeas(status, priority);
+    /**
+     * Version of the details view of an idea, from one query on the version columns, null if the idea does not
+     * exist. Documents are never modified and their ids never reused, so their count and last id identify the set.
+     * Same value as {@link #getIdeaDetailsVersion(FullIdeaDetailsDto)} for unchanged details.
+     */
+    @Transactional(readOnly = true)
+    public Object[] getIdeaDetailsVersion(Long ideaId) {
+        List<Object[]> rows = ideaRepository.findDetailsVersions(ideaId);
+        if (rows.isEmpty()) {
+            return null;
         }
+        Object[] row = rows.get(0);
+        return new Object[]{row[0], row[1], row[2], ((Number) row[3]).longValue(), row[4]};
+    }
 
-        boolean hasStatus = status != null && !status.isEmpty();
-        boolean hasPriority = priority != null && !priority.isEmpty();
+    public static Object[] getIdeaDetailsVersion(FullIdeaDetailsDto details) {
+        List<FullIdeaDetailsDto.DocumentSummary> documents = details.getDocuments();
+        return new Object[]{
+                details.getIdea().getVersion(),
+                details.getPoc() == null ? null : details.getPoc().version(),
+                details.getDeveloppement() == null ? null : details.getDeveloppement().version(),
+                (long) documents.size(),
+                documents.isEmpty() ? null : documents.get(documents.size() - 1).id()};
+    }
 
-        if (hasStatus && hasPriority) {
-            return ideaRepository.findByStatutAndPriorityAndCreatedBy(status, priority, createdBy);
-        } else if (hasStatus) {
-            return ideaRepository.findByStatutAndCreatedBy(status, createdBy);
-        } else if (hasPriority) {
-            return ideaRepository.findByPriorityAndCreatedBy(priority, createdBy);
-        } else {
-            return ideaRepository.findByCreatedBy(createdBy);
+    // Full list, newest first; emitters get a filter scoped to their own ideas (see IdeaController)
+    public List<Idea> getFilteredIdeas(IdeaFilter filter) {
+        return ideaRepository.findAll(IdeaSpecifications.matching(filter),
+                Sort.by(Sort.Direction.DESC, "dateCreation", "id"));
+    }
+
+    /**
+     * One page of ideas, newest first, as {@link IdeaSummaryDto}s (the description is not read).
+     * Keyset-paginated on (dateCreation, id): the cursor is the position of the last idea of the previous page.
+     * Filtered by the same {@link IdeaSpecifications} as the full list.
+     */
+    public IdeaPageDto getIdeaPage(IdeaFilter filter, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<IdeaSummaryDto> cq = cb.createQuery(IdeaSummaryDto.class);
+        Root<Idea> idea = cq.from(Idea.class);
+        cq.select(cb.construct(IdeaSummaryDto.class, idea.get("id"), idea.get("titre"), idea.get("statut"),
+                idea.get("priority"), idea.get("dateCreation"), idea.get("createdBy")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        Predicate filters = IdeaSpecifications.matching(filter).toPredicate(idea, cq, cb);
+        if (filters != null) {
+            predicates.add(filters);
+        }
+        if (cursor != null && !cursor.isEmpty()) {
+            IdeaCursor after = decodeIdeaCursor(cursor);
+            predicates.add(cb.or(
+                    cb.lessThan(idea.<LocalDateTime>get("dateCreation"), after.dateCreation()),
+                    cb.and(cb.equal(idea.get("dateCreation"), after.dateCreation()), cb.lessThan(idea.<Long>get("id"), after.id()))));
+        }
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(cb.desc(idea.get("dateCreation")), cb.desc(idea.get("id")));
+
+        // Fetch one extra row to know whether another page exists
+        List<IdeaSummaryDto> items = entityManager.createQuery(cq).setMaxResults(pageSize + 1).getResultList();
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            IdeaSummaryDto last = items.get(pageSize - 1);
+            nextCursor = encodeIdeaCursor(last.getDateCreation(), last.getId());
+        }
+        return new IdeaPageDto(items, nextCursor);
+    }
+
+    // --- Cursor encoding: "<dateCreation>|<id>", base64url encoded ---
+
+    private record IdeaCursor(LocalDateTime dateCreation, Long id) {
+    }
+
+    private static String encodeIdeaCursor(LocalDateTime dateCreation, Long id) {
+        String raw = dateCreation + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static IdeaCursor decodeIdeaCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Malformed cursor.");
+            }
+            return new IdeaCursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
         }
     }
 }
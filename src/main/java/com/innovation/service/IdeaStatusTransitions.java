@@ -0,0 +1,126 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.event.IdeaStatusChangedEvent;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Root;
+import org.camunda.bpm.engine.ProcessEngineException;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The legal changes of {@code Idea.statut}, following the innovation process, and the only way the status delegates
+ * change it.
+ * <p>
+ * A transition is one {@code UPDATE idea SET statut = ? ... WHERE id = ? AND statut = ?} per legal previous status,
+ * in the order declared below (the first one applies in practice): the idea is never loaded, only the status columns
+ * are written, so the engine transaction stays short and a concurrent edit of the title or description is never
+ * overwritten. The version is incremented like a regular update, so that ETags and {@code If-Match} see the change.
+ * When the idea does not exist or is not in a legal previous status, nothing is written and {@link #moveTo} returns
+ * false; the delegates use {@link #moveToOrFail}, which fails the step instead. An {@link IdeaStatusChangedEvent} is
+ * published for every applied transition.
+ */
+@Service
+public class IdeaStatusTransitions {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(IdeaStatusTransitions.class);
+
+    // Target status -> legal previous statuses
+    private static final Map<String, List<String>> TRANSITIONS = new HashMap<>();
+
+    static {
+        TRANSITIONS.put("EN_COURS_DE_QUALIFICATION", List.of("EN_ATTENTE_PREQUALIFICATION"));
+        // Qualification of a new idea, or of an adjourned idea sent back by the emitter
+        for (String result : List.of("VALIDEE", "AJOURNEE", "REJETEE")) {
+            TRANSITIONS.put(result, List.of("EN_COURS_DE_QUALIFICATION", "EN_ATTENTE_DE_QUALIFICATION"));
+        }
+        TRANSITIONS.put("EN_ATTENTE_DE_QUALIFICATION", List.of("AJOURNEE"));
+        TRANSITIONS.put("POC_EN_COURS", List.of("VALIDEE"));
+        TRANSITIONS.put("POC_TERMINE_FAVORABLE", List.of("POC_EN_COURS"));
+        TRANSITIONS.put("POC_TERMINE_DEFAVORABLE", List.of("POC_EN_COURS"));
+        TRANSITIONS.put("ARCHIVEE", List.of("POC_TERMINE_DEFAVORABLE"));
+        TRANSITIONS.put("EN_DEVELOPPEMENT", List.of("POC_TERMINE_FAVORABLE"));
+        TRANSITIONS.put("REALISEE", List.of("EN_DEVELOPPEMENT"));
+        TRANSITIONS.put("MVP_REFUSE", List.of("EN_DEVELOPPEMENT"));
+    }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private IdeaCache ideaCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public boolean moveTo(Long ideaId, String statut) {
+        return moveTo(ideaId, statut, Map.of());
+    }
+
+    /**
+     * Moves the idea to the given status if its current status allows it, also setting the given attributes
+     * (e.g. {@code dateStatus}, {@code motifRejet}) in the same statement. Must run inside a transaction.
+     */
+    public boolean moveTo(Long ideaId, String statut, Map<String, Object> attributes) {
+        List<String> previousStatuts = TRANSITIONS.get(statut);
+        if (previousStatuts == null) {
+            throw new IllegalArgumentException("Unknown idea status: " + statut);
+        }
+        for (String previousStatut : previousStatuts) {
+            if (update(ideaId, previousStatut, statut, attributes) == 1) {
+                refreshIfLoaded(ideaId);
+                // Before publishing, so that no listener reads the previous status from the cache
+                ideaCache.evictIdea(ideaId);
+                eventPublisher.publishEvent(new IdeaStatusChangedEvent(ideaId, previousStatut, statut));
+                return true;
+            }
+        }
+        LOGGER.warn("Idea {} not moved to {}: not found or not in one of {}", ideaId, statut, previousStatuts);
+        return false;
+    }
+
+    public void moveToOrFail(Long ideaId, String statut) {
+        moveToOrFail(ideaId, statut, Map.of());
+    }
+
+    // For the delegates: the engine transaction rolls back (an incident for an asynchronous step), so the process
+    // never goes on with an idea in another status than the one its step sets
+    public void moveToOrFail(Long ideaId, String statut, Map<String, Object> attributes) {
+        if (!moveTo(ideaId, statut, attributes)) {
+            throw new ProcessEngineException("Idea " + ideaId + " cannot move to " + statut
+                    + ": not found or not in one of " + TRANSITIONS.get(statut));
+        }
+    }
+
+    private int update(Long ideaId, String previousStatut, String statut, Map<String, Object> attributes) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<Idea> update = cb.createCriteriaUpdate(Idea.class);
+        Root<Idea> idea = update.from(Idea.class);
+        Path<Long> version = idea.get("version");
+        update.set("statut", statut);
+        update.set(version, cb.sum(version, 1L));
+        attributes.forEach(update::set);
+        update.where(cb.equal(idea.get("id"), ideaId), cb.equal(idea.get("statut"), previousStatut));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    // The UPDATE bypasses the persistence context: reload the idea if this transaction already holds it
+    private void refreshIfLoaded(Long ideaId) {
+        Idea loaded = entityManager.getReference(Idea.class, ideaId);
+        if (Hibernate.isInitialized(loaded)) {
+            entityManager.refresh(loaded);
+        }
+    }
+}
@@ -0,0 +1,135 @@
+package com.innovation.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import org.camunda.bpm.engine.IdentityService;
+import org.camunda.bpm.engine.identity.Group;
+import org.camunda.bpm.engine.identity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Read-through cache of the Camunda identity tables: users (email, name), the groups of a user and the members of a
+ * group. Users and groups change rarely and only through {@link com.innovation.controller.UserController}, which calls
+ * {@link #invalidateUser} after each change; the time-to-live ({@code app.cache.identity.ttl}) bounds how stale an
+ * entry can be when they are changed elsewhere (Camunda webapp, another instance). Password checks are never cached.
+ * <p>
+ * Returned users and groups are shared: callers must not modify them, and load them from {@link IdentityService} to
+ * update them.
+ */
+@Service
+public class IdentityDirectory {
+
+    // Key of the list of all users in the members cache
+    private static final String ALL_USERS = "";
+
+    @Autowired
+    private IdentityService identityService;
+
+    private final Cache<String, Optional<User>> users;
+    private final Cache<String, List<Group>> groupsOfUser;
+    // Group id -> members, ALL_USERS -> all users
+    private final Cache<String, List<User>> members;
+
+    public IdentityDirectory(@Value("${app.cache.identity.maximum-size:1000}") long maximumSize,
+                             @Value("${app.cache.identity.ttl:5m}") Duration ttl) {
+        this.users = newCache(maximumSize, ttl);
+        this.groupsOfUser = newCache(maximumSize, ttl);
+        this.members = newCache(maximumSize, ttl);
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maximumSize, Duration ttl) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+    }
+
+    public Optional<User> findUser(String userId) {
+        return users.get(userId, id -> Optional.ofNullable(identityService.createUserQuery().userId(id).singleResult()));
+    }
+
+    public String getEmail(String userId) {
+        return findUser(userId).map(User::getEmail).filter(email -> !email.isBlank()).orElse(null);
+    }
+
+    // userId -> email of all given users, the missing ones loaded in one query; users without an email are left out
+    public Map<String, String> getEmails(Collection<String> userIds) {
+        Map<String, String> emails = new HashMap<>();
+        if (userIds.isEmpty()) {
+            return emails;
+        }
+        users.getAll(userIds, this::loadUsers).forEach((userId, user) -> user
+                .map(User::getEmail)
+                .filter(email -> !email.isBlank())
+                .ifPresent(email -> emails.put(userId, email)));
+        return emails;
+    }
+
+    private Map<String, Optional<User>> loadUsers(Set<? extends String> userIds) {
+        Map<String, Optional<User>> loaded = new HashMap<>();
+        userIds.forEach(userId -> loaded.put(userId, Optional.empty()));
+        for (User user : identityService.createUserQuery().userIdIn(userIds.toArray(new String[0])).list()) {
+            loaded.put(user.getId(), Optional.of(user));
+        }
+        return loaded;
+    }
+
+    public List<Group> getGroups(String userId) {
+        return groupsOfUser.get(userId, id -> List.copyOf(identityService.createGroupQuery().groupMember(id).list()));
+    }
+
+    public List<String> getGroupIds(String userId) {
+        return getGroups(userId).stream().map(Group::getId).toList();
+    }
+
+    public List<User> getMembers(String groupId) {
+        return members.get(groupId, id -> List.copyOf(identityService.createUserQuery().memberOfGroup(id).list()));
+    }
+
+    public List<User> getAllUsers() {
+        return members.get(ALL_USERS, key -> List.copyOf(identityService.createUserQuery().list()));
+    }
+
+    // --- Invalidation ---
+
+    // After a user was created, updated or deleted, or its memberships changed
+    public void invalidateUser(String userId) {
+        users.invalidate(userId);
+        groupsOfUser.invalidate(userId);
+        // The user may have joined or left any group
+        members.invalidateAll();
+    }
+
+    // --- Statistics ---
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("users", toMap(users.stats(), users.estimatedSize()));
+        statistics.put("groupsOfUser", toMap(groupsOfUser.stats(), groupsOfUser.estimatedSize()));
+        statistics.put("members", toMap(members.stats(), members.estimatedSize()));
+        return statistics;
+    }
+
+    private static Map<String, Object> toMap(CacheStats stats, long size) {
+        Map<String, Object> values = new LinkedHashMap<>();
+        values.put("hits", stats.hitCount());
+        values.put("misses", stats.missCount());
+        values.put("hitRate", stats.hitRate());
+        values.put("evictions", stats.evictionCount());
+        values.put("size", size);
+        return values;
+    }
+}
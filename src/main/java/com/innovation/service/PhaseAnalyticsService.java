@@ -0,0 +1,219 @@
+package com.innovation.service;
+
+import com.innovation.domain.AnalyticsWatermark;
+import com.innovation.domain.PhaseDurationBucket;
+import com.innovation.dto.PhaseDurationStatsDto;
+import com.innovation.repository.AnalyticsWatermarkRepository;
+import com.innovation.repository.PhaseDurationBucketRepository;
+import org.camunda.bpm.engine.HistoryService;
+import org.camunda.bpm.engine.history.HistoricActivityInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Lead times of the workflow phases, read from the Camunda history of their subprocesses.
+ * <p>
+ * A scheduled rollup reads only the phases that ended since its watermark and adds them to per-month histograms
+ * ({@link PhaseDurationBucket}), whose buckets grow by 10% so that any percentile is known within 5%. Requests only
+ * read these histograms, a few hundred rows at most per phase and month, never the history tables. The rollup stops
+ * {@code app.analytics.rollup.lag-seconds} before the current time, so that history rows of transactions still
+ * running when it reads are not skipped. Cancelled phases (idea deleted, process interrupted) are not counted.
+ */
+@Service
+public class PhaseAnalyticsService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PhaseAnalyticsService.class);
+
+    // Subprocess id -> phase name, in workflow order
+    public static final Map<String, String> PHASES = new LinkedHashMap<>();
+
+    static {
+        PHASES.put("Activity_01rr8kw", "qualification");
+        PHASES.put("Activity_1usshr0", "poc");
+        PHASES.put("Activity_1uqlzjz", "developpement");
+    }
+
+    private static final String WATERMARK = "phase-durations";
+    private static final int PAGE_SIZE = 1000;
+    private static final double BUCKET_GROWTH = Math.log(1.1);
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private PhaseDurationBucketRepository bucketRepository;
+
+    @Autowired
+    private AnalyticsWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${app.analytics.rollup.lag-seconds:60}")
+    private long lagSeconds;
+
+    private record BucketKey(String phase, String month, int bucket) {
+    }
+
+    // --- Rollup ---
+
+    @Scheduled(initialDelayString = "${app.analytics.rollup.interval-ms:300000}",
+            fixedDelayString = "${app.analytics.rollup.interval-ms:300000}")
+    public synchronized void rollup() {
+        Date from = watermarkRepository.findById(WATERMARK)
+                .map(AnalyticsWatermark::getPosition)
+                .orElse(new Date(0));
+        Date to = new Date(System.currentTimeMillis() - lagSeconds * 1000);
+        if (!to.after(from)) {
+            return;
+        }
+
+        Map<BucketKey, Long> counts = new HashMap<>();
+        int phases = 0;
+        for (String phase : PHASES.keySet()) {
+            phases += readPhases(phase, from, to, counts);
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            merge(counts);
+            AnalyticsWatermark watermark = watermarkRepository.findById(WATERMARK).orElseGet(() -> {
+                AnalyticsWatermark created = new AnalyticsWatermark();
+                created.setName(WATERMARK);
+                return created;
+            });
+            watermark.setPosition(to);
+            watermarkRepository.save(watermark);
+        });
+        if (phases > 0) {
+            LOGGER.info("Phase durations rolled up: {} phases ended between {} and {}", phases, from, to);
+        }
+    }
+
+    // Adds the phases that ended in [from, to) to counts, returns how many there were
+    private int readPhases(String phase, Date from, Date to, Map<BucketKey, Long> counts) {
+        int read = 0;
+        for (int first = 0; ; first += PAGE_SIZE) {
+            // finishedAfter / finishedBefore are both inclusive: the upper bound is excluded below
+            List<HistoricActivityInstance> page = historyService.createHistoricActivityInstanceQuery()
+                    .activityId(phase)
+                    .finishedAfter(from)
+                    .finishedBefore(to)
+                    .orderByHistoricActivityInstanceEndTime().asc()
+                    .orderByHistoricActivityInstanceId().asc()
+                    .listPage(first, PAGE_SIZE);
+            for (HistoricActivityInstance instance : page) {
+                if (instance.isCanceled() || !instance.getEndTime().before(to) || instance.getDurationInMillis() == null) {
+                    continue;
+                }
+                String month = YearMonth.from(instance.getEndTime().toInstant().atZone(ZoneId.systemDefault())).toString();
+                counts.merge(new BucketKey(phase, month, bucketOf(instance.getDurationInMillis() / 1000)), 1L, Long::sum);
+                read++;
+            }
+            if (page.size() < PAGE_SIZE) {
+                return read;
+            }
+        }
+    }
+
+    private void merge(Map<BucketKey, Long> counts) {
+        Map<String, List<BucketKey>> byPhaseAndMonth = new HashMap<>();
+        for (BucketKey key : counts.keySet()) {
+            byPhaseAndMonth.computeIfAbsent(key.phase() + "|" + key.month(), k -> new ArrayList<>()).add(key);
+        }
+        for (List<BucketKey> keys : byPhaseAndMonth.values()) {
+            BucketKey any = keys.get(0);
+            Map<Integer, PhaseDurationBucket> existing = new HashMap<>();
+            for (PhaseDurationBucket bucket : bucketRepository.findByPhaseAndEndMonth(any.phase(), any.month())) {
+                existing.put(bucket.getBucket(), bucket);
+            }
+            for (BucketKey key : keys) {
+                PhaseDurationBucket bucket = existing.get(key.bucket());
+                if (bucket == null) {
+                    bucket = new PhaseDurationBucket();
+                    bucket.setPhase(key.phase());
+                    bucket.setEndMonth(key.month());
+                    bucket.setBucket(key.bucket());
+                }
+                bucket.setCount(bucket.getCount() + counts.get(key));
+                bucketRepository.save(bucket);
+            }
+        }
+    }
+
+    // --- Histogram ---
+
+    // Bucket b holds the durations in [1.1^b - 1, 1.1^(b+1) - 1) seconds
+    static int bucketOf(long seconds) {
+        return (int) Math.floor(Math.log1p(Math.max(0, seconds)) / BUCKET_GROWTH);
+    }
+
+    // Middle of a bucket, in seconds
+    static long valueOf(int bucket) {
+        double lower = Math.expm1(bucket * BUCKET_GROWTH);
+        double upper = Math.expm1((bucket + 1) * BUCKET_GROWTH);
+        return Math.round((lower + upper) / 2);
+    }
+
+    private static long percentile(NavigableMap<Integer, Long> histogram, long count, double quantile) {
+        long rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        for (Map.Entry<Integer, Long> entry : histogram.entrySet()) {
+            seen += entry.getValue();
+            if (seen >= rank) {
+                return valueOf(entry.getKey());
+            }
+        }
+        return 0;
+    }
+
+    // --- Queries ---
+
+    /**
+     * p50 / p90 / p99 of each phase, per month in [from, to], followed by one row per phase for the whole range
+     * (month null). Months without any ended phase are omitted.
+     */
+    public List<PhaseDurationStatsDto> getDurations(YearMonth from, YearMonth to) {
+        Map<String, NavigableMap<String, NavigableMap<Integer, Long>>> histograms = new HashMap<>();
+        for (PhaseDurationBucket bucket : bucketRepository.findByEndMonthBetween(from.toString(), to.toString())) {
+            histograms.computeIfAbsent(bucket.getPhase(), p -> new TreeMap<>())
+                    .computeIfAbsent(bucket.getEndMonth(), m -> new TreeMap<>())
+                    .merge(bucket.getBucket(), bucket.getCount(), Long::sum);
+        }
+
+        List<PhaseDurationStatsDto> monthly = new ArrayList<>();
+        List<PhaseDurationStatsDto> overall = new ArrayList<>();
+        for (Map.Entry<String, String> phase : PHASES.entrySet()) {
+            NavigableMap<String, NavigableMap<Integer, Long>> months = histograms.getOrDefault(phase.getKey(), new TreeMap<>());
+            NavigableMap<Integer, Long> total = new TreeMap<>();
+            for (Map.Entry<String, NavigableMap<Integer, Long>> month : months.entrySet()) {
+                monthly.add(toStats(phase.getKey(), phase.getValue(), month.getKey(), month.getValue()));
+                month.getValue().forEach((bucket, count) -> total.merge(bucket, count, Long::sum));
+            }
+            overall.add(toStats(phase.getKey(), phase.getValue(), null, total));
+        }
+        monthly.addAll(overall);
+        return monthly;
+    }
+
+    private static PhaseDurationStatsDto toStats(String phase, String phaseName, String month, NavigableMap<Integer, Long> histogram) {
+        long count = histogram.values().stream().mapToLong(Long::longValue).sum();
+        return new PhaseDurationStatsDto(phase, phaseName, month, count,
+                percentile(histogram, count, 0.50), percentile(histogram, count, 0.90), percentile(histogram, count, 0.99));
+    }
+}
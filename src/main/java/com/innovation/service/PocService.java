@@ -5,6 +5,7 @@ import com.innovation.repository.POCRepository;
 import org.camunda.bpm.engine.TaskService;
 import org.camunda.bpm.engine.task.Task;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import java.util.HashMap;
@@ -26,8 +27,16 @@ public class PocService {
     }
 
     public POC updatePoc(Long pocId, Map<String, Object> updates) {
+        return updatePoc(pocId, updates, null);
+    }
+
+    // expectedVersion (from If-Match) is checked here, a concurrent change after the read is caught by @Version
+    public POC updatePoc(Long pocId, Map<String, Object> updates, Long expectedVersion) {
         POC poc = pocRepository.findById(pocId)
                 .orElseThrow(() -> new RuntimeException("POC not found with id: " + pocId));
+        if (expectedVersion != null && !expectedVersion.equals(poc.getVersion())) {
+            throw new ObjectOptimisticLockingFailureException(POC.class, pocId);
+        }
 
         // Update fields if they are provided in the request
         updates.forEach((key, value) -> {
@@ -0,0 +1,172 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.event.IdeaStatusChangedEvent;
+import com.innovation.repository.IdeaRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Number of ideas per (statut, priority, createdBy), kept in memory so that the dashboard never counts the idea table.
+ * <p>
+ * Seeded from one GROUP BY query at startup, then moved by every change of status (through
+ * {@link IdeaStatusChangedEvent}), of priority, and by idea creation and deletion, once the change has committed.
+ * A scheduled reconciliation recounts the table and corrects any lasting drift, e.g. after a manual change in the
+ * database.
+ */
+@Service
+public class PortfolioCounters {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PortfolioCounters.class);
+
+    public record Key(String statut, String priority, String createdBy) {
+
+        static Key of(Idea idea) {
+            return new Key(idea.getStatut(), idea.getPriority(), idea.getCreatedBy());
+        }
+    }
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private IdeaCache ideaCache;
+
+    private final Map<Key, LongAdder> counters = new ConcurrentHashMap<>();
+
+    // Difference found by the last reconciliation, only corrected if the next one finds it again
+    private Map<Key, Long> previousDifference = Map.of();
+
+    private volatile boolean seeded;
+
+    // --- Reads ---
+
+    public boolean isSeeded() {
+        return seeded;
+    }
+
+    // Current counts, one entry per non-empty key; the size depends on the number of keys, not of ideas
+    public Map<Key, Long> snapshot() {
+        Map<Key, Long> snapshot = new HashMap<>();
+        counters.forEach((key, counter) -> {
+            long count = counter.sum();
+            if (count != 0) {
+                snapshot.put(key, count);
+            }
+        });
+        return snapshot;
+    }
+
+    // --- Updates ---
+
+    public void recordCreated(Idea idea) {
+        Key key = Key.of(idea);
+        afterCommit(() -> add(key, 1));
+    }
+
+    public void recordDeleted(Idea idea) {
+        Key key = Key.of(idea);
+        afterCommit(() -> add(key, -1));
+    }
+
+    public void recordPriorityChanged(Idea idea, String previousPriority) {
+        Key to = Key.of(idea);
+        Key from = new Key(to.statut(), previousPriority, to.createdBy());
+        afterCommit(() -> move(from, to));
+    }
+
+    // Published by IdeaStatusTransitions inside the engine transaction; priority and creator are read from the cache,
+    // the statuses only from the event
+    @EventListener
+    public void onIdeaStatusChanged(IdeaStatusChangedEvent event) {
+        ideaCache.findIdea(event.ideaId()).ifPresent(idea -> {
+            Key to = new Key(event.statut(), idea.getPriority(), idea.getCreatedBy());
+            Key from = new Key(event.previousStatut(), idea.getPriority(), idea.getCreatedBy());
+            afterCommit(() -> move(from, to));
+        });
+    }
+
+    private void move(Key from, Key to) {
+        if (!from.equals(to)) {
+            add(from, -1);
+            add(to, 1);
+        }
+    }
+
+    private void add(Key key, long delta) {
+        counters.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    // --- Seeding and reconciliation ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void seed() {
+        if (!seeded) {
+            applyDifference(countInDatabase());
+            seeded = true;
+        }
+    }
+
+    /**
+     * Compares the counters with the idea table. A difference can be transient (a transaction committed but its
+     * counter update not yet applied), so it is only corrected when the exact same difference is found again by the
+     * next run. The correction is added to the counters rather than replacing them, so concurrent updates are kept.
+     */
+    @Scheduled(initialDelayString = "${app.dashboard.counters.reconcile-ms:300000}",
+            fixedDelayString = "${app.dashboard.counters.reconcile-ms:300000}")
+    public synchronized void reconcile() {
+        Map<Key, Long> difference = difference(countInDatabase(), snapshot());
+        if (difference.isEmpty() || !difference.equals(previousDifference)) {
+            previousDifference = difference;
+            return;
+        }
+        LOGGER.warn("Portfolio counters drifted from the idea table, correcting by {}", difference);
+        difference.forEach(this::add);
+        previousDifference = Map.of();
+    }
+
+    private void applyDifference(Map<Key, Long> actual) {
+        difference(actual, snapshot()).forEach(this::add);
+    }
+
+    private Map<Key, Long> countInDatabase() {
+        Map<Key, Long> actual = new HashMap<>();
+        for (Object[] row : ideaRepository.countGroupedByStatutPriorityAndCreator()) {
+            actual.put(new Key((String) row[0], (String) row[1], (String) row[2]), (Long) row[3]);
+        }
+        return actual;
+    }
+
+    // actual - current, for every key where they differ
+    private static Map<Key, Long> difference(Map<Key, Long> actual, Map<Key, Long> current) {
+        Map<Key, Long> difference = new HashMap<>(actual);
+        current.forEach((key, count) -> difference.merge(key, -count, Long::sum));
+        difference.values().removeIf(delta -> delta == 0);
+        return difference;
+    }
+}
@@ -1,7 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
-import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -10,6 +8,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Component("recycleIdeaDelegate")
 public class RecycleIdeaDelegate implements JavaDelegate {
@@ -17,21 +16,15 @@ public class RecycleIdeaDelegate implements JavaDelegate {
     private static final Logger LOGGER = LoggerFactory.getLogger(RecycleIdeaDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Override
     public void execute(DelegateExecution execution) throws Exception {
         Long ideaId = (Long) execution.getVariable("ideaId");
         LOGGER.info("Recycling idea ID: {}", ideaId);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
         // Change status and set the status date
-        idea.setStatut("EN_ATTENTE_DE_QUALIFICATION");
-        idea.setDateStatus(LocalDateTime.now());
-        ideaRepository.save(idea);
-
+        ideaStatusTransitions.moveToOrFail(ideaId, "EN_ATTENTE_DE_QUALIFICATION", Map.of("dateStatus", LocalDateTime.now()));
         LOGGER.info("Idea {} has been recycled. Status is now EN_ATTENTE_DE_QUALIFICATION.", ideaId);
     }
-}
\ No newline at end of file
+}
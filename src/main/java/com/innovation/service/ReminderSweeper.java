@@ -0,0 +1,241 @@
+package com.innovation.service;
+
+import com.innovation.domain.AnalyticsWatermark;
+import com.innovation.domain.Idea;
+import com.innovation.repository.AnalyticsWatermarkRepository;
+import com.innovation.repository.IdeaRepository;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.runtime.ProcessInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Deadline reminders of the workflow when {@code app.reminders.mode} is {@code sweeper}: one scheduled job replaces
+ * the repeating timer boundary events of every instance, which {@link com.innovation.config.ReminderTimersPlugin}
+ * then leaves out of the deployed process.
+ * <p>
+ * Each sweep reads in pages, with indexed queries, the tasks past their due date and the ideas waiting for
+ * qualification for more than a day, and sends one alert for every reminder that fell due since the previous sweep:
+ * the first at the deadline, then one per period of the timer it replaces. The sweep position is kept in
+ * {@link AnalyticsWatermark}, so nothing is stored per task and a restart neither repeats nor loses reminders (a
+ * crash in the middle of a sweep repeats its alerts).
+ */
+@Service
+public class ReminderSweeper {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReminderSweeper.class);
+
+    // User tasks whose reminder timer compared the dateEcheance variable -> period of that timer.
+    // In sweeper mode, ReminderTimersPlugin copies dateEcheance to the due date of these tasks.
+    public static final Map<String, Duration> DUE_DATE_REMINDERS = Map.of(
+            "Activity_1oplie6", Duration.ofHours(24),   // POC conclusion (Event_09a1mnr)
+            "Activity_1jwmunj", Duration.ofHours(48),   // MVP development (Event_10fjkk9)
+            "Activity_1npl4tr", Duration.ofHours(24),   // final business model and plans (Event_02cykuw)
+            "Activity_0ajhb6g", Duration.ofHours(72));  // adjourned idea (Event_0zgnkgr)
+
+    // Qualification task, whose reminder timer (Event_1ia1vdn, P1D) counted from the prioritization of the idea
+    public static final String QUALIFICATION_TASK = "Activity_0tg41vr";
+    private static final Duration QUALIFICATION_REMINDER = Duration.ofDays(1);
+    private static final List<String> QUALIFICATION_STATUTS = List.of("EN_COURS_DE_QUALIFICATION", "EN_ATTENTE_DE_QUALIFICATION");
+
+    private static final String WATERMARK = "reminder-sweep";
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private AnalyticsWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private DeadlineAlertService deadlineAlertService;
+
+    @Autowired
+    private IdeaCache ideaCache;
+
+    @Value("${app.reminders.mode:timers}")
+    private String mode;
+
+    @Value("${app.reminders.batch-size:100}")
+    private int batchSize;
+
+    public boolean isEnabled() {
+        return "sweeper".equalsIgnoreCase(mode);
+    }
+
+    @Scheduled(initialDelayString = "${app.reminders.sweep-interval-ms:300000}",
+            fixedDelayString = "${app.reminders.sweep-interval-ms:300000}")
+    public synchronized void sweep() {
+        if (!isEnabled()) {
+            return;
+        }
+        Date now = new Date();
+        AnalyticsWatermark watermark = watermarkRepository.findById(WATERMARK).orElse(null);
+        if (watermark == null) {
+            // First sweep: reminders count from now on
+            watermark = new AnalyticsWatermark();
+            watermark.setName(WATERMARK);
+        } else {
+            long lastSweep = watermark.getPosition().getTime();
+            int sent = sweepOverdueTasks(lastSweep, now) + sweepQualifications(lastSweep, now.getTime());
+            if (sent > 0) {
+                LOGGER.info("Reminder sweep: {} alerts queued for deadlines between {} and {}", sent, watermark.getPosition(), now);
+            }
+        }
+        watermark.setPosition(now);
+        watermarkRepository.save(watermark);
+    }
+
+    // Reminders at anchor, anchor + period, anchor + 2 * period...: true if one of them is in (lastSweep, now]
+    static boolean reminderDue(long anchor, Duration period, long lastSweep, long now) {
+        return remindersUntil(anchor, period, now) > remindersUntil(anchor, period, lastSweep);
+    }
+
+    private static long remindersUntil(long anchor, Duration period, long time) {
+        return time < anchor ? 0 : (time - anchor) / period.toMillis() + 1;
+    }
+
+    // --- Tasks past their due date ---
+
+    private int sweepOverdueTasks(long lastSweep, Date now) {
+        int sent = 0;
+        for (int first = 0; ; first += batchSize) {
+            List<Task> page = taskService.createTaskQuery()
+                    .active()
+                    .taskDefinitionKeyIn(DUE_DATE_REMINDERS.keySet().toArray(new String[0]))
+                    .dueBefore(now)
+                    .orderByDueDate().asc()
+                    .orderByTaskId().asc()
+                    .listPage(first, batchSize);
+            List<Task> due = page.stream()
+                    .filter(task -> reminderDue(task.getDueDate().getTime(), DUE_DATE_REMINDERS.get(task.getTaskDefinitionKey()),
+                            lastSweep, now.getTime()))
+                    .toList();
+            sent += dispatch(due, ideaIdsOf(due));
+            if (page.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    // processInstanceId -> ideaId (the business key of the instance), in one query
+    private Map<String, Long> ideaIdsOf(List<Task> tasks) {
+        Map<String, Long> ideaIds = new HashMap<>();
+        if (tasks.isEmpty()) {
+            return ideaIds;
+        }
+        Set<String> processInstanceIds = new HashSet<>();
+        tasks.forEach(task -> processInstanceIds.add(task.getProcessInstanceId()));
+        for (ProcessInstance instance : runtimeService.createProcessInstanceQuery().processInstanceIds(processInstanceIds).list()) {
+            if (instance.getBusinessKey() != null) {
+                ideaIds.put(instance.getId(), Long.valueOf(instance.getBusinessKey()));
+            }
+        }
+        return ideaIds;
+    }
+
+    // --- Ideas waiting for qualification ---
+
+    private int sweepQualifications(long lastSweep, long now) {
+        LocalDateTime prioritizedBefore = toLocalDateTime(now - QUALIFICATION_REMINDER.toMillis());
+        int sent = 0;
+        for (int page = 0; ; page++) {
+            List<Idea> ideas = ideaRepository.findByStatutInAndDatePriorisationLessThanEqual(QUALIFICATION_STATUTS,
+                    prioritizedBefore, PageRequest.of(page, batchSize, Sort.by("id")));
+            List<String> businessKeys = new ArrayList<>();
+            for (Idea idea : ideas) {
+                long anchor = toMillis(idea.getDatePriorisation()) + QUALIFICATION_REMINDER.toMillis();
+                if (reminderDue(anchor, QUALIFICATION_REMINDER, lastSweep, now)) {
+                    businessKeys.add(idea.getId().toString());
+                }
+            }
+            if (!businessKeys.isEmpty()) {
+                sent += sendQualificationReminders(businessKeys, now);
+            }
+            if (ideas.size() < batchSize) {
+                return sent;
+            }
+        }
+    }
+
+    // Business keys (idea ids) of the ideas to remind; only those whose qualification task is still open get an alert
+    private int sendQualificationReminders(List<String> businessKeys, long now) {
+        List<Task> tasks = taskService.createTaskQuery()
+                .active()
+                .taskDefinitionKey(QUALIFICATION_TASK)
+                .processInstanceBusinessKeyIn(businessKeys.toArray(new String[0]))
+                .list();
+        Map<String, Long> byProcessInstance = ideaIdsOf(tasks);
+        int sent = dispatch(tasks, byProcessInstance);
+        if (sent > 0) {
+            // Kept for display, as the reminder timer did
+            List<Long> reminded = List.copyOf(new HashSet<>(byProcessInstance.values()));
+            ideaRepository.updateDateDernierRappel(reminded, toLocalDateTime(now));
+            reminded.forEach(ideaCache::evictIdea);
+        }
+        return sent;
+    }
+
+    // --- Dispatch ---
+
+    // One alert per task, to its assignee or the admin, queued in the email outbox: ideas and emails are read once
+    // for the whole batch
+    private int dispatch(List<Task> tasks, Map<String, Long> ideaIdsByProcessInstance) {
+        if (tasks.isEmpty()) {
+            return 0;
+        }
+        Map<Long, String> titles = new HashMap<>();
+        ideaRepository.findAllById(new HashSet<>(ideaIdsByProcessInstance.values()))
+                .forEach(idea -> titles.put(idea.getId(), idea.getTitre()));
+        Set<String> assignees = new HashSet<>();
+        tasks.stream().map(Task::getAssignee).filter(Objects::nonNull).forEach(assignees::add);
+        Map<String, String> emails = deadlineAlertService.getEmailsForUsers(assignees);
+
+        int sent = 0;
+        for (Task task : tasks) {
+            Long ideaId = ideaIdsByProcessInstance.get(task.getProcessInstanceId());
+            try {
+                deadlineAlertService.send(ideaId, titles.getOrDefault(ideaId, "(unknown title)"), task.getProcessInstanceId(),
+                        task.getTaskDefinitionKey(), task.getAssignee(),
+                        task.getAssignee() == null ? null : emails.get(task.getAssignee()));
+                sent++;
+            } catch (Exception e) {
+                LOGGER.warn("Reminder for task {} (idea {}) not queued: {}", task.getId(), ideaId, e.getMessage());
+            }
+        }
+        return sent;
+    }
+
+    private static LocalDateTime toLocalDateTime(long millis) {
+        return LocalDateTime.ofInstant(new Date(millis).toInstant(), ZoneId.systemDefault());
+    }
+
+    private static long toMillis(LocalDateTime dateTime) {
+        return dateTime.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
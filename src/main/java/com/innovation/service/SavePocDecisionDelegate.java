@@ -1,8 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
-import com.innovation.domain.POC;
-import com.innovation.repository.IdeaRepository;
 import com.innovation.repository.POCRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
@@ -17,7 +14,7 @@ public class SavePocDecisionDelegate implements JavaDelegate {
     private static final Logger LOGGER = LoggerFactory.getLogger(SavePocDecisionDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Autowired
     private POCRepository pocRepository; // This is needed to find the POC
@@ -31,22 +28,15 @@ public class SavePocDecisionDelegate implements JavaDelegate {
 
         LOGGER.info("Executing SavePocDecisionDelegate for idea ID: {} with avis: {}", ideaId, avis);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
-        // Find the related POC record
-        POC poc = pocRepository.findByIdeaId(ideaId)
-                .orElseThrow(() -> new RuntimeException("POC not found for idea id: " + ideaId));
-
-        // NEW: Update the POC entity with the conclusion and decision
-        poc.setConclusion(conclusion);
-        poc.setDecision(avis);
-        pocRepository.save(poc);
+        // Update the POC with the conclusion and decision. A single UPDATE rather than load-and-save: a concurrent
+        // PUT /api/pocs/{id} cannot make it fail on the version, and the version still moves for that PUT's If-Match
+        if (pocRepository.updateDecision(ideaId, conclusion, avis) == 0) {
+            throw new RuntimeException("POC not found for idea id: " + ideaId);
+        }
 
         // Update the Idea status
-        idea.setStatut("POC_TERMINE_" + avis.toUpperCase());
-        ideaRepository.save(idea);
-
-        LOGGER.info("Idea {} status updated to {}", ideaId, idea.getStatut());
+        String statut = "POC_TERMINE_" + avis.toUpperCase();
+        ideaStatusTransitions.moveToOrFail(ideaId, statut);
+        LOGGER.info("Idea {} status updated to {}", ideaId, statut);
     }
-}
\ No newline at end of file
+}
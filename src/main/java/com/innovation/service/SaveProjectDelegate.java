@@ -1,9 +1,6 @@
 package com.innovation.service;
 
-import com.innovation.domain.Developpement;
-import com.innovation.domain.Idea;
 import com.innovation.repository.DeveloppementRepository;
-import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -13,6 +10,7 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Component("saveProjectDelegate")
 public class SaveProjectDelegate implements JavaDelegate {
@@ -20,7 +18,7 @@ public class SaveProjectDelegate implements JavaDelegate {
     private static final Logger LOGGER = LoggerFactory.getLogger(SaveProjectDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Autowired
     private DeveloppementRepository developpementRepository;
@@ -32,30 +30,26 @@ public class SaveProjectDelegate implements JavaDelegate {
 
         LOGGER.info("Saving final project status for idea ID: {} with conclusion: {}", ideaId, conclusion);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
-        Developpement developpement = developpementRepository.findByIdeaId(ideaId)
-                .orElseThrow(() -> new RuntimeException("Development record not found for idea id: " + ideaId));
-
+        // Single UPDATEs rather than load-and-save: a concurrent change of the team cannot make the engine
+        // transaction fail on the version, and the version still moves for the If-Match of that change
+        String statut;
+        int updated;
         if ("ok".equalsIgnoreCase(conclusion)) {
             // Happy path: The project is realized
-            idea.setStatut("REALISEE");
-            idea.setDateStatus(LocalDateTime.now());
-
-            developpement.setStatutDev("TERMINE");
-            developpement.setDateFin(LocalDate.now());
+            statut = "REALISEE";
+            updated = developpementRepository.updateFin(ideaId, "TERMINE", LocalDate.now());
+            ideaStatusTransitions.moveToOrFail(ideaId, statut, Map.of("dateStatus", LocalDateTime.now()));
         } else {
             // Negative feedback path
             String avisNegatif = (String) execution.getVariable("avisNegatif");
-            developpement.setAvisNegatif(avisNegatif);
-            // The idea status might remain "EN_DEVELOPPEMENT" for further action
-            idea.setStatut("MVP_REFUSE");
+            statut = "MVP_REFUSE";
+            updated = developpementRepository.updateAvisNegatif(ideaId, avisNegatif);
+            ideaStatusTransitions.moveToOrFail(ideaId, statut);
+        }
+        if (updated == 0) {
+            throw new RuntimeException("Development record not found for idea id: " + ideaId);
         }
 
-        ideaRepository.save(idea);
-        developpementRepository.save(developpement);
-
-        LOGGER.info("Project for idea ID: {} has been saved. Final status: {}", ideaId, idea.getStatut());
+        LOGGER.info("Project for idea ID: {} has been saved. Final status: {}", ideaId, statut);
     }
-}
\ No newline at end of file
+}
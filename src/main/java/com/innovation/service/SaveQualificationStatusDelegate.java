@@ -1,7 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
-import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
 import org.slf4j.Logger;
@@ -9,15 +7,16 @@ import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Component("saveQualificationStatusDelegate")
 public class SaveQualificationStatusDelegate implements JavaDelegate {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(SaveQualificationStatusDelegate.class);
 
     @Autowired
-    private IdeaRepository ideaRepository;
-
-    // In SaveQualificationStatusDelegate.java
+    private IdeaStatusTransitions ideaStatusTransitions;
 
     @Override
     public void execute(DelegateExecution execution) throws Exception {
@@ -26,22 +25,16 @@ public class SaveQualificationStatusDelegate implements JavaDelegate {
 
         LOGGER.info("Executing SaveQualificationStatusDelegate for idea ID: {} with result: {}", ideaId, result);
 
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found with id: " + ideaId));
-
         if (result != null) {
-            idea.setStatut(result);
-
             // If the result is REJETEE, also save the rejection reason
+            Map<String, Object> attributes = new HashMap<>();
             if ("REJETEE".equals(result)) {
-                String motif = (String) execution.getVariable("motifRejet");
-                idea.setMotifRejet(motif);
+                attributes.put("motifRejet", execution.getVariable("motifRejet"));
             }
-
-            ideaRepository.save(idea);
+            ideaStatusTransitions.moveToOrFail(ideaId, result, attributes);
             LOGGER.info("Idea {} status updated to {}", ideaId, result);
         } else {
             LOGGER.warn("resultatQualification variable was null for idea ID: {}", ideaId);
         }
     }
-}
\ No newline at end of file
+}
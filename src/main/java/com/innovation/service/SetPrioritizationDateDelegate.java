@@ -1,6 +1,5 @@
 package com.innovation.service;
 
-import com.innovation.domain.Idea;
 import com.innovation.repository.IdeaRepository;
 import org.camunda.bpm.engine.delegate.DelegateExecution;
 import org.camunda.bpm.engine.delegate.JavaDelegate;
@@ -14,13 +13,16 @@ public class SetPrioritizationDateDelegate implements JavaDelegate {
     @Autowired
     private IdeaRepository ideaRepository;
 
+    @Autowired
+    private IdeaCache ideaCache;
+
     @Override
     public void execute(DelegateExecution execution) throws Exception {
         Long ideaId = (Long) execution.getVariable("ideaId");
-        Idea idea = ideaRepository.findById(ideaId)
-                .orElseThrow(() -> new RuntimeException("Idea not found: " + ideaId));
-
-        idea.setDatePriorisation(LocalDateTime.now());
-        ideaRepository.save(idea);
+        // Single UPDATE: a concurrent edit of the idea cannot make the engine transaction fail on the version
+        if (ideaRepository.updateDatePriorisation(ideaId, LocalDateTime.now()) == 0) {
+            throw new RuntimeException("Idea not found: " + ideaId);
+        }
+        ideaCache.evictIdea(ideaId);
     }
 }
\ No newline at end of file
@@ -0,0 +1,96 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.dto.TaskDetailsDto;
+import com.innovation.repository.IdeaRepository;
+import org.camunda.bpm.engine.RuntimeService;
+import org.camunda.bpm.engine.rest.dto.task.TaskDto;
+import org.camunda.bpm.engine.runtime.VariableInstance;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Turns a list of Camunda tasks into {@link TaskDetailsDto}s with a fixed number of queries:
+ * one variable-instance query per chunk of process instances and one {@code findAllById} per chunk of ideas,
+ * whatever the number of tasks.
+ */
+@Service
+public class TaskEnrichmentService {
+
+    // Keeps the generated IN (...) lists well below the limits of the supported databases
+    private static final int IN_CLAUSE_CHUNK_SIZE = 1000;
+
+    @Autowired
+    private RuntimeService runtimeService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    public List<TaskDetailsDto> enrich(List<Task> tasks) {
+        if (tasks.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        Set<String> processInstanceIds = tasks.stream()
+                .map(Task::getProcessInstanceId)
+                .filter(id -> id != null)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        Map<String, Long> ideaIdsByProcessInstance = resolveIdeaIds(processInstanceIds);
+        Map<Long, Idea> ideasById = loadIdeas(ideaIdsByProcessInstance.values());
+
+        List<TaskDetailsDto> detailedTasks = new ArrayList<>(tasks.size());
+        for (Task task : tasks) {
+            Long ideaId = ideaIdsByProcessInstance.get(task.getProcessInstanceId());
+            Idea idea = ideaId != null ? ideasById.get(ideaId) : null;
+            detailedTasks.add(new TaskDetailsDto(TaskDto.fromEntity(task), idea));
+        }
+        return detailedTasks;
+    }
+
+    // Reads the "ideaId" process variable of every given process instance in one query per chunk
+    public Map<String, Long> resolveIdeaIds(Collection<String> processInstanceIds) {
+        Map<String, Long> ideaIds = new HashMap<>();
+        for (List<String> chunk : chunk(processInstanceIds)) {
+            List<VariableInstance> variables = runtimeService.createVariableInstanceQuery()
+                    .variableName("ideaId")
+                    .processInstanceIdIn(chunk.toArray(new String[0]))
+                    .list();
+            for (VariableInstance variable : variables) {
+                if (variable.getValue() instanceof Long ideaId) {
+                    ideaIds.put(variable.getProcessInstanceId(), ideaId);
+                }
+            }
+        }
+        return ideaIds;
+    }
+
+    public Map<Long, Idea> loadIdeas(Collection<Long> ideaIds) {
+        Map<Long, Idea> ideas = new HashMap<>();
+        for (List<Long> chunk : chunk(new LinkedHashSet<>(ideaIds))) {
+            ideas.putAll(ideaRepository.findAllById(chunk).stream()
+                    .collect(Collectors.toMap(Idea::getId, Function.identity())));
+        }
+        return ideas;
+    }
+
+    private static <T> List<List<T>> chunk(Collection<T> values) {
+        List<T> list = new ArrayList<>(values);
+        List<List<T>> chunks = new ArrayList<>();
+        for (int i = 0; i < list.size(); i += IN_CLAUSE_CHUNK_SIZE) {
+            chunks.add(list.subList(i, Math.min(i + IN_CLAUSE_CHUNK_SIZE, list.size())));
+        }
+        return chunks;
+    }
+}
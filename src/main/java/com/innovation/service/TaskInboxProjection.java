@@ -0,0 +1,322 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.domain.TaskInboxEntry;
+import com.innovation.dto.TaskInboxItemDto;
+import com.innovation.dto.TaskPageDto;
+import com.innovation.event.IdeaStatusChangedEvent;
+import com.innovation.repository.IdeaRepository;
+import com.innovation.repository.TaskInboxEntryRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.AbstractQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import jakarta.persistence.TypedQuery;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.delegate.DelegateTask;
+import org.camunda.bpm.engine.delegate.TaskListener;
+import org.camunda.bpm.engine.task.IdentityLink;
+import org.camunda.bpm.engine.task.IdentityLinkType;
+import org.camunda.bpm.engine.task.Task;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains the {@link TaskInboxEntry} read model and answers inbox queries from it.
+ * <p>
+ * The Camunda Spring Boot starter publishes every task event (camunda.bpm.eventing.task) as a Spring event inside
+ * the engine transaction, which makes {@link #onTaskEvent} a global task listener. Idea columns are refreshed by the
+ * {@link IdeaStatusChangedEvent}s of {@link IdeaStatusTransitions} and by {@link IdeaService} when titles or priorities change.
+ */
+@Service
+public class TaskInboxProjection {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TaskInboxProjection.class);
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    @Autowired
+    private TaskInboxEntryRepository taskInboxEntryRepository;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskEnrichmentService taskEnrichmentService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    // Rebuilds the projection at startup when its row count differs from the number of active tasks
+    @Value("${app.tasks.inbox.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // --- Maintenance ---
+
+    @EventListener
+    public void onTaskEvent(DelegateTask task) {
+        switch (task.getEventName()) {
+            case TaskListener.EVENTNAME_CREATE:
+                taskInboxEntryRepository.save(newEntry(task));
+                break;
+            case TaskListener.EVENTNAME_ASSIGNMENT:
+            case TaskListener.EVENTNAME_UPDATE:
+                TaskInboxEntry entry = taskInboxEntryRepository.findById(task.getId()).orElseGet(() -> newEntry(task));
+                entry.setAssignee(task.getAssignee());
+                // Candidate groups added or removed after creation also fire an update
+                Set<String> groups = candidateGroups(task.getCandidates());
+                if (!groups.equals(entry.getCandidateGroups())) {
+                    entry.getCandidateGroups().clear();
+                    entry.getCandidateGroups().addAll(groups);
+                }
+                entry.setDueDate(task.getDueDate());
+                entry.setTaskPriority(task.getPriority());
+                entry.setTaskName(task.getName());
+                taskInboxEntryRepository.save(entry);
+                break;
+            case TaskListener.EVENTNAME_COMPLETE:
+            case TaskListener.EVENTNAME_DELETE:
+                taskInboxEntryRepository.deleteById(task.getId());
+                break;
+            default:
+                // timeout events do not change the inbox
+        }
+    }
+
+    @EventListener
+    public void onIdeaStatusChanged(IdeaStatusChangedEvent event) {
+        taskInboxEntryRepository.updateIdeaStatut(event.ideaId(), event.statut());
+    }
+
+    // Called when the title or priority of an idea changes
+    public void refreshIdea(Idea idea) {
+        taskInboxEntryRepository.updateIdea(idea.getId(), idea.getTitre(), idea.getStatut(), idea.getPriority());
+    }
+
+    private TaskInboxEntry newEntry(DelegateTask task) {
+        TaskInboxEntry entry = new TaskInboxEntry();
+        entry.setTaskId(task.getId());
+        entry.setTaskDefinitionKey(task.getTaskDefinitionKey());
+        entry.setTaskName(task.getName());
+        entry.setProcessInstanceId(task.getProcessInstanceId());
+        entry.setAssignee(task.getAssignee());
+        entry.setCandidateGroups(candidateGroups(task.getCandidates()));
+        entry.setDueDate(task.getDueDate());
+        entry.setCreateTime(task.getCreateTime());
+        entry.setTaskPriority(task.getPriority());
+
+        Object ideaId = task.getVariable("ideaId");
+        if (ideaId instanceof Long id) {
+            entry.setIdeaId(id);
+            ideaRepository.findById(id).ifPresent(idea -> copyIdea(entry, idea));
+        }
+        return entry;
+    }
+
+    private static void copyIdea(TaskInboxEntry entry, Idea idea) {
+        entry.setIdeaTitre(idea.getTitre());
+        entry.setIdeaStatut(idea.getStatut());
+        entry.setIdeaPriority(idea.getPriority());
+    }
+
+    private static Set<String> candidateGroups(Collection<? extends IdentityLink> links) {
+        return links.stream()
+                .filter(link -> IdentityLinkType.CANDIDATE.equals(link.getType()) && link.getGroupId() != null)
+                .map(IdentityLink::getGroupId)
+                .collect(Collectors.toCollection(HashSet::new));
+    }
+
+    // --- Rebuild ---
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfOutOfSync() {
+        if (!rebuildOnStartup) {
+            return;
+        }
+        long activeTasks = taskService.createTaskQuery().active().count();
+        long entries = taskInboxEntryRepository.count();
+        long candidateLinks = countCandidateGroupLinks();
+        long candidateGroups = taskInboxEntryRepository.countCandidateGroups();
+        if (activeTasks != entries || candidateLinks != candidateGroups) {
+            LOGGER.info("Task inbox projection out of sync ({} entries for {} active tasks, {} candidate groups for {} links), rebuilding",
+                    entries, activeTasks, candidateGroups, candidateLinks);
+            rebuild();
+        }
+    }
+
+    // Distinct (task, group) candidate links of the active tasks, i.e. the expected rows of the candidate group table
+    private long countCandidateGroupLinks() {
+        Number count = (Number) entityManager.createNativeQuery(
+                        "SELECT COUNT(*) FROM (SELECT DISTINCT L.TASK_ID_, L.GROUP_ID_ FROM ACT_RU_IDENTITYLINK L"
+                                + " JOIN ACT_RU_TASK T ON T.ID_ = L.TASK_ID_"
+                                + " WHERE L.TYPE_ = 'candidate' AND L.GROUP_ID_ IS NOT NULL AND T.SUSPENSION_STATE_ = 1) LINKS")
+                .getSingleResult();
+        return count.longValue();
+    }
+
+    /**
+     * Reconstructs the whole projection from the engine, e.g. after a crash or a manual change in Camunda.
+     * Runs in one transaction, in batches of active tasks ordered by id.
+     */
+    public int rebuild() {
+        return transactionTemplate.execute(status -> doRebuild());
+    }
+
+    private int doRebuild() {
+        taskInboxEntryRepository.deleteAllCandidateGroups();
+        taskInboxEntryRepository.deleteAllInBatch();
+
+        int total = 0;
+        List<Task> batch;
+        do {
+            batch = taskService.createTaskQuery().active().orderByTaskId().asc().listPage(total, REBUILD_BATCH_SIZE);
+            Map<String, Long> ideaIds = taskEnrichmentService.resolveIdeaIds(
+                    batch.stream().map(Task::getProcessInstanceId).collect(Collectors.toSet()));
+            Map<Long, Idea> ideas = taskEnrichmentService.loadIdeas(ideaIds.values());
+
+            List<TaskInboxEntry> entries = new ArrayList<>(batch.size());
+            for (Task task : batch) {
+                TaskInboxEntry entry = new TaskInboxEntry();
+                entry.setTaskId(task.getId());
+                entry.setTaskDefinitionKey(task.getTaskDefinitionKey());
+                entry.setTaskName(task.getName());
+                entry.setProcessInstanceId(task.getProcessInstanceId());
+                entry.setAssignee(task.getAssignee());
+                entry.setCandidateGroups(candidateGroups(taskService.getIdentityLinksForTask(task.getId())));
+                entry.setDueDate(task.getDueDate());
+                entry.setCreateTime(task.getCreateTime());
+                entry.setTaskPriority(task.getPriority());
+                Long ideaId = ideaIds.get(task.getProcessInstanceId());
+                entry.setIdeaId(ideaId);
+                if (ideaId != null && ideas.containsKey(ideaId)) {
+                    copyIdea(entry, ideas.get(ideaId));
+                }
+                entries.add(entry);
+            }
+            taskInboxEntryRepository.saveAll(entries);
+            total += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        LOGGER.info("Task inbox projection rebuilt with {} entries", total);
+        return total;
+    }
+
+    // --- Queries ---
+
+    public TaskPageDto<TaskInboxItemDto> findPage(String username, List<String> userGroups, boolean isAdmin,
+                                                  String taskDefinitionKey, String ideaName,
+                                                  TaskInboxService.SortBy sortBy, TaskInboxService.Cursor after,
+                                                  int pageSize) {
+        List<TaskInboxItemDto> items = find(username, userGroups, isAdmin, taskDefinitionKey, ideaName, sortBy, after, pageSize + 1);
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            TaskInboxItemDto.TaskSummary last = items.get(pageSize - 1).getTask();
+            nextCursor = TaskInboxService.encodeCursor(sortBy, last.created(), last.due(), last.priority(), last.id());
+        }
+        return new TaskPageDto<>(items, nextCursor);
+    }
+
+    public long count(String username, List<String> userGroups, boolean isAdmin, String taskDefinitionKey, String ideaName) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<TaskInboxEntry> entry = cq.from(TaskInboxEntry.class);
+        cq.select(cb.count(entry));
+        cq.where(filters(cb, cq, entry, username, userGroups, isAdmin, taskDefinitionKey, ideaName).toArray(new Predicate[0]));
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public List<TaskInboxItemDto> find(String username, List<String> userGroups, boolean isAdmin,
+                                       String taskDefinitionKey, String ideaName,
+                                       TaskInboxService.SortBy sortBy, TaskInboxService.Cursor after, Integer limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskInboxEntry> cq = cb.createQuery(TaskInboxEntry.class);
+        Root<TaskInboxEntry> entry = cq.from(TaskInboxEntry.class);
+        List<Predicate> predicates = filters(cb, cq, entry, username, userGroups, isAdmin, taskDefinitionKey, ideaName);
+
+        Expression<Comparable> key;
+        switch (sortBy) {
+            case DUE_DATE:
+                key = (Expression) cb.coalesce(entry.get("dueDate"), TaskInboxService.NO_DUE_DATE_VALUE);
+                break;
+            case PRIORITY:
+                key = entry.get("taskPriority");
+                break;
+            default:
+                key = entry.get("createTime");
+        }
+        boolean ascending = sortBy.isAscending();
+        Expression<String> taskId = entry.get("taskId");
+
+        if (after != null) {
+            Comparable value = (Comparable) after.value();
+            predicates.add(ascending
+                    ? cb.or(cb.greaterThan(key, value), cb.and(cb.equal(key, value), cb.greaterThan(taskId, after.taskId())))
+                    : cb.or(cb.lessThan(key, value), cb.and(cb.equal(key, value), cb.lessThan(taskId, after.taskId()))));
+        }
+
+        cq.where(predicates.toArray(new Predicate[0]));
+        cq.orderBy(ascending ? List.of(cb.asc(key), cb.asc(taskId)) : List.of(cb.desc(key), cb.desc(taskId)));
+
+        TypedQuery<TaskInboxEntry> query = entityManager.createQuery(cq);
+        if (limit != null) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList().stream().map(TaskInboxItemDto::new).collect(Collectors.toList());
+    }
+
+    // Filters and visibility shared by the list and count queries
+    private static List<Predicate> filters(CriteriaBuilder cb, AbstractQuery<?> query, Root<TaskInboxEntry> entry,
+                                           String username, List<String> userGroups, boolean isAdmin,
+                                           String taskDefinitionKey, String ideaName) {
+        List<Predicate> predicates = new ArrayList<>();
+        if (taskDefinitionKey != null && !taskDefinitionKey.isEmpty()) {
+            predicates.add(cb.equal(entry.get("taskDefinitionKey"), taskDefinitionKey));
+        }
+        if (ideaName != null && !ideaName.isEmpty()) {
+            predicates.add(cb.like(cb.lower(entry.get("ideaTitre")), "%" + ideaName.toLowerCase(Locale.ROOT) + "%"));
+        }
+        if (!isAdmin) {
+            List<Predicate> visible = new ArrayList<>();
+            visible.add(cb.equal(entry.get("assignee"), username));
+            if (userGroups != null && !userGroups.isEmpty()) {
+                // EXISTS (SELECT 1 FROM task_inbox_candidate_group g WHERE g.task_id = e.task_id AND g.group_id IN (...))
+                Subquery<Integer> candidate = query.subquery(Integer.class);
+                Root<TaskInboxEntry> correlated = candidate.correlate(entry);
+                Join<TaskInboxEntry, String> group = correlated.join("candidateGroups");
+                candidate.select(cb.literal(1)).where(group.in(userGroups));
+                visible.add(cb.and(cb.isNull(entry.get("assignee")), cb.exists(candidate)));
+            }
+            predicates.add(cb.or(visible.toArray(new Predicate[0])));
+        }
+        return predicates;
+    }
+}
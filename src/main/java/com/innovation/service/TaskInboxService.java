@@ -0,0 +1,239 @@
+package com.innovation.service;
+
+import com.innovation.dto.TaskPageDto;
+import org.camunda.bpm.engine.ManagementService;
+import org.camunda.bpm.engine.TaskService;
+import org.camunda.bpm.engine.impl.persistence.entity.ExecutionEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.IdentityLinkEntity;
+import org.camunda.bpm.engine.impl.persistence.entity.TaskEntity;
+import org.camunda.bpm.engine.task.NativeTaskQuery;
+import org.camunda.bpm.engine.task.Task;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Timestamp;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Entry point of the task inbox. By default pages are read from the {@link TaskInboxProjection} read model.
+ * With {@code app.tasks.inbox.read-model=false} the inbox is built with a single native query over the Camunda
+ * runtime tables instead: visibility, the idea title filter (joined through the business key), sorting and keyset
+ * pagination are evaluated by the database in both cases, so the cost of a page depends on its size only.
+ */
+@Service
+public class TaskInboxService {
+
+    public static final int MAX_PAGE_SIZE = 200;
+
+    // Tasks without a due date sort after every dated task
+    private static final String NO_DUE_DATE = "TIMESTAMP '9999-12-31 00:00:00'";
+    static final Timestamp NO_DUE_DATE_VALUE = Timestamp.valueOf("9999-12-31 00:00:00");
+
+    public enum SortBy {
+        DUE_DATE("COALESCE(RES.DUE_DATE_, " + NO_DUE_DATE + ")", true),
+        CREATED("RES.CREATE_TIME_", false),
+        PRIORITY("RES.PRIORITY_", false);
+
+        private final String column;
+        private final boolean ascending;
+
+        SortBy(String column, boolean ascending) {
+            this.column = column;
+            this.ascending = ascending;
+        }
+
+        public boolean isAscending() {
+            return ascending;
+        }
+
+        public static SortBy fromParam(String value) {
+            if (value == null || value.isEmpty()) {
+                return CREATED;
+            }
+            switch (value.toLowerCase(Locale.ROOT)) {
+                case "due":
+                case "duedate":
+                    return DUE_DATE;
+                case "created":
+                    return CREATED;
+                case "priority":
+                    return PRIORITY;
+                default:
+                    throw new IllegalArgumentException("Unknown sort: " + value);
+            }
+        }
+    }
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private ManagementService managementService;
+
+    @Autowired
+    private TaskEnrichmentService taskEnrichmentService;
+
+    @Autowired
+    private TaskInboxProjection taskInboxProjection;
+
+    // When enabled, the inbox is served from the TaskInboxEntry read model instead of the engine tables
+    @Value("${app.tasks.inbox.read-model:true}")
+    private boolean readModelEnabled;
+
+    public List<?> findAll(String username, List<String> userGroups, boolean isAdmin,
+                           String taskDefinitionKey, String ideaName, SortBy sortBy) {
+        if (readModelEnabled) {
+            return taskInboxProjection.find(username, userGroups, isAdmin, taskDefinitionKey, ideaName, sortBy, null, null);
+        }
+        NativeTaskQuery query = buildQuery(username, userGroups, isAdmin, taskDefinitionKey, ideaName, sortBy, null, false);
+        return taskEnrichmentService.enrich(query.list());
+    }
+
+    public TaskPageDto<?> findPage(String username, List<String> userGroups, boolean isAdmin,
+                                   String taskDefinitionKey, String ideaName, SortBy sortBy,
+                                   String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        if (readModelEnabled) {
+            return taskInboxProjection.findPage(username, userGroups, isAdmin, taskDefinitionKey, ideaName, sortBy,
+                    decodeCursor(cursor, sortBy), pageSize);
+        }
+        NativeTaskQuery query = buildQuery(username, userGroups, isAdmin, taskDefinitionKey, ideaName, sortBy,
+                decodeCursor(cursor, sortBy), false);
+
+        // Fetch one extra row to know whether another page exists
+        List<Task> tasks = query.listPage(0, pageSize + 1);
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            Task last = tasks.get(pageSize - 1);
+            nextCursor = encodeCursor(sortBy, last.getCreateTime(), last.getDueDate(), last.getPriority(), last.getId());
+        }
+        return new TaskPageDto<>(taskEnrichmentService.enrich(tasks), nextCursor);
+    }
+
+    // Number of tasks the user would see in the inbox, without loading them (used by the UI badges)
+    public long count(String username, List<String> userGroups, boolean isAdmin, String taskDefinitionKey, String ideaName) {
+        if (readModelEnabled) {
+            return taskInboxProjection.count(username, userGroups, isAdmin, taskDefinitionKey, ideaName);
+        }
+        return buildQuery(username, userGroups, isAdmin, taskDefinitionKey, ideaName, SortBy.CREATED, null, true).count();
+    }
+
+    private NativeTaskQuery buildQuery(String username, List<String> userGroups, boolean isAdmin,
+                                       String taskDefinitionKey, String ideaName, SortBy sortBy, Cursor after,
+                                       boolean countOnly) {
+        Map<String, Object> parameters = new HashMap<>();
+        StringBuilder sql = new StringBuilder(countOnly ? "SELECT COUNT(*) FROM " : "SELECT RES.* FROM ")
+                .append(managementService.getTableName(TaskEntity.class)).append(" RES");
+
+        if (ideaName != null && !ideaName.isEmpty()) {
+            // The business key of every process instance is the id of its idea (see IdeaService.createIdea)
+            sql.append(" JOIN ").append(managementService.getTableName(ExecutionEntity.class))
+                    .append(" PI ON PI.ID_ = RES.PROC_INST_ID_")
+                    .append(" JOIN idea I ON CAST(I.id AS VARCHAR(64)) = PI.BUSINESS_KEY_");
+        }
+
+        sql.append(" WHERE RES.SUSPENSION_STATE_ = 1");
+
+        if (taskDefinitionKey != null && !taskDefinitionKey.isEmpty()) {
+            sql.append(" AND RES.TASK_DEF_KEY_ = #{taskDefinitionKey}");
+            parameters.put("taskDefinitionKey", taskDefinitionKey);
+        }
+
+        if (ideaName != null && !ideaName.isEmpty()) {
+            sql.append(" AND LOWER(I.titre) LIKE #{ideaName}");
+            parameters.put("ideaName", "%" + ideaName.toLowerCase(Locale.ROOT) + "%");
+        }
+
+        if (!isAdmin) {
+            // Assigned to the user, or unassigned and offered to one of the user's groups
+            sql.append(" AND (RES.ASSIGNEE_ = #{username}");
+            parameters.put("username", username);
+            if (userGroups != null && !userGroups.isEmpty()) {
+                sql.append(" OR (RES.ASSIGNEE_ IS NULL AND EXISTS (SELECT 1 FROM ")
+                        .append(managementService.getTableName(IdentityLinkEntity.class))
+                        .append(" L WHERE L.TASK_ID_ = RES.ID_ AND L.TYPE_ = 'candidate' AND L.GROUP_ID_ IN (");
+                for (int i = 0; i < userGroups.size(); i++) {
+                    sql.append(i == 0 ? "" : ", ").append("#{group").append(i).append("}");
+                    parameters.put("group" + i, userGroups.get(i));
+                }
+                sql.append(")))");
+            }
+            sql.append(")");
+        }
+
+        String comparator = sortBy.ascending ? ">" : "<";
+        String direction = sortBy.ascending ? "ASC" : "DESC";
+        if (after != null) {
+            sql.append(" AND (").append(sortBy.column).append(" ").append(comparator).append(" #{cursorValue}")
+                    .append(" OR (").append(sortBy.column).append(" = #{cursorValue}")
+                    .append(" AND RES.ID_ ").append(comparator).append(" #{cursorId}))");
+            parameters.put("cursorValue", after.value());
+            parameters.put("cursorId", after.taskId());
+        }
+
+        if (!countOnly) {
+            sql.append(" ORDER BY ").append(sortBy.column).append(" ").append(direction)
+                    .append(", RES.ID_ ").append(direction);
+        }
+
+        NativeTaskQuery query = taskService.createNativeTaskQuery().sql(sql.toString());
+        parameters.forEach(query::parameter);
+        return query;
+    }
+
+    // --- Cursor encoding: "<sort>:<sort value>:<task id>", base64url encoded ---
+
+    record Cursor(Object value, String taskId) {
+    }
+
+    static String encodeCursor(SortBy sortBy, Date createTime, Date dueDate, int priority, String taskId) {
+        String value;
+        switch (sortBy) {
+            case DUE_DATE:
+                value = dueDate == null ? "" : Long.toString(dueDate.getTime());
+                break;
+            case PRIORITY:
+                value = Integer.toString(priority);
+                break;
+            default:
+                value = Long.toString(createTime.getTime());
+        }
+        String raw = sortBy.name() + ":" + value + ":" + taskId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decodeCursor(String cursor, SortBy sortBy) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split(":", 3);
+            if (parts.length != 3 || !parts[0].equals(sortBy.name())) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort.");
+            }
+            Object value;
+            switch (sortBy) {
+                case DUE_DATE:
+                    value = parts[1].isEmpty() ? NO_DUE_DATE_VALUE : new Date(Long.parseLong(parts[1]));
+                    break;
+                case PRIORITY:
+                    value = Integer.parseInt(parts[1]);
+                    break;
+                default:
+                    value = new Date(Long.parseLong(parts[1]));
+            }
+            return new Cursor(value, parts[2]);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.innovation.repository;
+
+import com.innovation.dto.IdeaFilter;
+import com.innovation.service.IdeaService;
+import com.innovation.support.StatementCounter;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Plan cost of the idea list filters on 100k seeded ideas, with the composite indexes declared on Idea and with the
+ * primary key only. For each filter, the first page query generated by {@link IdeaSpecifications} is captured and run
+ * with EXPLAIN ANALYZE, which reports the rows H2 reads to answer it.
+ * <p>
+ * Not part of the test suite (surefire runs *Test classes): {@code mvn test -Dtest=IdeaFilterPlanBenchmark}.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idea-filter-benchmark;DB_CLOSE_DELAY=-1",
+        "app.search.index-dir=target/benchmark-search-index",
+        // Criteria values rendered as literals, so that the captured SQL can be explained as is
+        "spring.jpa.properties.hibernate.criteria.value_handling_mode=inline"
+})
+@Import(StatementCounter.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class IdeaFilterPlanBenchmark {
+
+    private static final int IDEAS = 100_000;
+    private static final int PAGE_SIZE = 20;
+    private static final Pattern SCAN_COUNT = Pattern.compile("scanCount: (\\d+)");
+    private static final Pattern INDEX = Pattern.compile("/\\* PUBLIC\\.(\\w+)");
+    // Declared on Idea for the idea list; before them, the list was read through the primary key
+    private static final List<String> COMPOSITE_INDEXES = List.of("idx_idea_date_creation", "idx_idea_statut_date",
+            "idx_idea_priority_date", "idx_idea_created_by_date");
+
+    private static final String[] STATUTS = {"EN_ATTENTE_PREQUALIFICATION", "EN_ATTENTE_DE_QUALIFICATION",
+            "EN_COURS_DE_QUALIFICATION", "VALIDEE", "REJETEE", "AJOURNEE", "POC_EN_COURS", "POC_TERMINE_FAVORABLE",
+            "EN_DEVELOPPEMENT", "ARCHIVEE"};
+    private static final String[] PRIORITIES = {"High", "Medium", "Low", null};
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeAll
+    void seed() {
+        LocalDateTime start = LocalDateTime.now().minusYears(2);
+        List<Object[]> rows = new ArrayList<>(IDEAS);
+        for (int i = 0; i < IDEAS; i++) {
+            rows.add(new Object[]{"Idea " + i, "Description of idea " + i, STATUTS[i % STATUTS.length],
+                    PRIORITIES[i % PRIORITIES.length], Timestamp.valueOf(start.plusMinutes(i * 10L)), "user" + (i % 200)});
+        }
+        jdbcTemplate.batchUpdate("insert into idea (titre, description, statut, priority, date_creation, created_by, version)"
+                + " values (?, ?, ?, ?, ?, ?, 0)", rows);
+        jdbcTemplate.execute("analyze");
+    }
+
+    @Test
+    void planCostOfTheFilters() {
+        LocalDate from = LocalDate.now().minusYears(1);
+        Map<String, Consumer<IdeaFilter>> filters = new LinkedHashMap<>();
+        filters.put("none", filter -> {
+        });
+        filters.put("statut", filter -> filter.setStatuts(List.of("VALIDEE")));
+        filters.put("2 statuts", filter -> filter.setStatuts(List.of("VALIDEE", "REJETEE")));
+        filters.put("priority", filter -> filter.setPriorities(List.of("High")));
+        filters.put("createdBy", filter -> filter.setCreatedBy("user7"));
+        filters.put("createdBy + statut", filter -> {
+            filter.setCreatedBy("user7");
+            filter.setStatuts(List.of("VALIDEE"));
+        });
+        filters.put("month", filter -> {
+            filter.setCreatedFrom(from);
+            filter.setCreatedTo(from.plusMonths(1));
+        });
+        filters.put("statut + month", filter -> {
+            filter.setStatuts(List.of("VALIDEE"));
+            filter.setCreatedFrom(from);
+            filter.setCreatedTo(from.plusMonths(1));
+        });
+        filters.put("text", filter -> filter.setText("idea 4242"));
+
+        Map<String, String> queries = new LinkedHashMap<>();
+        filters.forEach((name, criteria) -> {
+            IdeaFilter filter = new IdeaFilter();
+            criteria.accept(filter);
+            queries.put(name, StatementCounter.count(() -> ideaService.getIdeaPage(filter, null, PAGE_SIZE)).sql().get(0));
+        });
+
+        Map<String, String> indexedPlans = new LinkedHashMap<>();
+        queries.forEach((name, sql) -> indexedPlans.put(name, plan(sql)));
+        COMPOSITE_INDEXES.forEach(index -> jdbcTemplate.execute("drop index " + index));
+        Map<String, String> primaryKeyPlans = new LinkedHashMap<>();
+        queries.forEach((name, sql) -> primaryKeyPlans.put(name, plan(sql)));
+
+        System.out.printf("%n%-20s %16s %16s  %s%n", "Filter", "rows (indexes)", "rows (PK only)", "Index used");
+        for (String name : queries.keySet()) {
+            long indexedRows = scannedRows(indexedPlans.get(name));
+            long primaryKeyRows = scannedRows(primaryKeyPlans.get(name));
+            System.out.printf("%-20s %16d %16d  %s%n", name, indexedRows, primaryKeyRows, indexUsed(indexedPlans.get(name)));
+            assertThat(indexedRows).as(name).isLessThanOrEqualTo(primaryKeyRows);
+        }
+        // Unfiltered and date range pages are read in index order, one page at a time
+        assertThat(scannedRows(indexedPlans.get("none"))).isLessThanOrEqualTo(PAGE_SIZE + 1);
+        assertThat(scannedRows(indexedPlans.get("month"))).isLessThanOrEqualTo(PAGE_SIZE + 1);
+    }
+
+    // EXPLAIN ANALYZE of the query; only the page size is still a parameter, the filter values are inlined
+    private String plan(String sql) {
+        return jdbcTemplate.execute("explain analyze " + sql, (PreparedStatement statement) -> {
+            for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                statement.setInt(i, PAGE_SIZE + 1);
+            }
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getString(1);
+            }
+        });
+    }
+
+    // Rows read by H2 for the query, summed over the tables and indexes of its plan
+    private static long scannedRows(String plan) {
+        long rows = 0;
+        Matcher matcher = SCAN_COUNT.matcher(plan);
+        while (matcher.find()) {
+            rows += Long.parseLong(matcher.group(1));
+        }
+        return rows;
+    }
+
+    private static String indexUsed(String plan) {
+        Matcher matcher = INDEX.matcher(plan);
+        return (matcher.find() ? matcher.group(1) : "?") + (plan.contains("index sorted") ? ", sorted" : "");
+    }
+}
@@ -0,0 +1,113 @@
+package com.innovation.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token handling of {@link JwtRequestFilter} for one authenticated request:
+ * <ul>
+ *     <li>{@code before}: the former filter, four parses of the token, each with a new parser;</li>
+ *     <li>{@code singleParse}: one parse with the shared parser, as for a token seen for the first time;</li>
+ *     <li>{@code filter}: the filter, the token being in the verified-claims cache.</li>
+ * </ul>
+ * Not part of the test suite (surefire runs *Test classes): {@code mvn test -Dtest=JwtRequestFilterBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtRequestFilterBenchmark {
+
+    // Same key as JwtUtil
+    private static final SecretKey SECRET_KEY =
+            Keys.hmacShaKeyFor("a-very-long-and-super-secret-key-for-your-innovation-app".getBytes(StandardCharsets.UTF_8));
+
+    // Built once, as in JwtUtil
+    private static final JwtParser SHARED_PARSER = Jwts.parserBuilder().setSigningKey(SECRET_KEY).build();
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtUtil jwtUtil;
+    private JwtRequestFilter filter;
+    private String token;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(10_000, Duration.ofSeconds(60));
+        filter = new JwtRequestFilter();
+        ReflectionTestUtils.setField(filter, "jwtUtil", jwtUtil);
+        ReflectionTestUtils.setField(filter, "tokenGenerations", new TokenGenerations());
+        token = jwtUtil.generateToken("cqUser", List.of("CQ"), 0);
+        request = new MockHttpServletRequest("GET", "/api/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void before(Blackhole blackhole) {
+        String jwt = request.getHeader("Authorization").substring(7);
+        // extractUsername, validateToken (parse, then extractExpiration), extractGroups
+        String username = parse(jwt).getSubject();
+        parse(jwt);
+        boolean valid = !parse(jwt).getExpiration().before(new Date());
+        List<?> groups = (List<?>) parse(jwt).get("groups");
+        blackhole.consume(username);
+        blackhole.consume(valid);
+        blackhole.consume(groups);
+    }
+
+    @Benchmark
+    public Claims singleParse() {
+        return SHARED_PARSER.parseClaimsJws(token).getBody();
+    }
+
+    @Benchmark
+    public Object filter() throws Exception {
+        // OncePerRequestFilter skips a request it has already filtered
+        request.removeAttribute(filter.getClass().getName() + ".FILTERED");
+        filter.doFilter(request, response, NO_OP_CHAIN);
+        return request.getAttribute("userGroups");
+    }
+
+    private static Claims parse(String jwt) {
+        return Jwts.parserBuilder().setSigningKey(SECRET_KEY).build().parseClaimsJws(jwt).getBody();
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(JwtRequestFilterBenchmark.class.getSimpleName()).build()).run();
+    }
+}
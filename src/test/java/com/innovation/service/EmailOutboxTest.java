@@ -0,0 +1,155 @@
+package com.innovation.service;
+
+import com.icegreen.greenmail.configuration.GreenMailConfiguration;
+import com.icegreen.greenmail.junit5.GreenMailExtension;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.innovation.domain.EmailOutboxMessage;
+import com.innovation.repository.EmailOutboxMessageRepository;
+import jakarta.mail.MessagingException;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+
+/**
+ * The outbox against GreenMail as SMTP server: deduplication, claiming by concurrent dispatchers, retry with backoff
+ * while the server is down, and release of abandoned claims only.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:email-outbox-test;DB_CLOSE_DELAY=-1",
+        "spring.mail.host=127.0.0.1",
+        "spring.mail.port=3025",
+        "spring.mail.properties.mail.smtp.auth=false",
+        "spring.mail.properties.mail.smtp.starttls.enable=false",
+        "app.mail.outbox.threads=3",
+        "app.mail.outbox.batch-size=4",
+        "app.mail.outbox.poll-ms=200",
+        "app.mail.outbox.initial-backoff=1s",
+        "app.mail.outbox.max-attempts=3",
+        "app.search.index-dir=target/test-search-index"
+})
+class EmailOutboxTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(20);
+
+    @RegisterExtension
+    static GreenMailExtension smtp = new GreenMailExtension(ServerSetupTest.SMTP)
+            .withConfiguration(GreenMailConfiguration.aConfig().withDisabledAuthentication());
+
+    @Autowired
+    private EmailOutbox emailOutbox;
+
+    @Autowired
+    private EmailOutboxMessageRepository repository;
+
+    @Test
+    void sameDedupKeyIsQueuedAndSentOnce() throws Exception {
+        assertThat(emailOutbox.enqueue("test:dedup", "dedup@example.com", "Deadline passed", "body", null)).isTrue();
+        assertThat(emailOutbox.enqueue("test:dedup", "dedup@example.com", "Deadline passed", "body", null)).isFalse();
+
+        await().atMost(TIMEOUT).until(() -> received("dedup@example.com").size() == 1);
+        // A few more polls: still a single email
+        Thread.sleep(1000);
+        assertThat(received("dedup@example.com")).hasSize(1);
+        assertThat(repository.countByStatus("SENT")).isGreaterThanOrEqualTo(1);
+    }
+
+    @Test
+    void concurrentDispatchersSendEachMessageOnce() {
+        List<String> subjects = IntStream.range(0, 30).mapToObj(i -> "Claim " + i).toList();
+        subjects.forEach(subject -> emailOutbox.enqueue(null, "claims@example.com", subject, "body", null));
+
+        await().atMost(TIMEOUT).until(() -> received("claims@example.com").size() >= subjects.size());
+        assertThat(received("claims@example.com").stream().map(EmailOutboxTest::subject))
+                .containsExactlyInAnyOrderElementsOf(subjects);
+        assertThat(messagesTo("claims@example.com"))
+                .allSatisfy(message -> {
+                    assertThat(message.getStatus()).isEqualTo("SENT");
+                    assertThat(message.getAttempts()).isEqualTo(1);
+                    assertThat(message.getClaimToken()).isNull();
+                });
+    }
+
+    @Test
+    void failedSendIsRetriedAfterBackoff() {
+        smtp.stop();
+        emailOutbox.enqueue("test:retry", "retry@example.com", "Retried", "body", null);
+
+        await().atMost(TIMEOUT).until(() -> messagesTo("retry@example.com").get(0).getAttempts() == 1);
+        EmailOutboxMessage failed = messagesTo("retry@example.com").get(0);
+        assertThat(failed.getStatus()).isEqualTo("PENDING");
+        assertThat(failed.getLastError()).isNotNull();
+        assertThat(failed.getNextAttemptAt()).isAfter(LocalDateTime.now().minusSeconds(1));
+
+        smtp.start();
+        await().atMost(TIMEOUT).until(() -> "SENT".equals(messagesTo("retry@example.com").get(0).getStatus()));
+        assertThat(messagesTo("retry@example.com").get(0).getAttempts()).isGreaterThanOrEqualTo(2);
+        assertThat(received("retry@example.com")).hasSize(1);
+    }
+
+    @Test
+    void onlyAbandonedClaimsAreReleased() {
+        EmailOutboxMessage abandoned = claimed("abandoned@example.com", LocalDateTime.now().minusHours(1));
+        EmailOutboxMessage inFlight = claimed("in-flight@example.com", LocalDateTime.now());
+
+        emailOutbox.releaseStaleClaims();
+
+        assertThat(repository.findById(inFlight.getId()).orElseThrow().getStatus()).isEqualTo("SENDING");
+        await().atMost(TIMEOUT).until(() -> received("abandoned@example.com").size() == 1);
+        assertThat(received("in-flight@example.com")).isEmpty();
+    }
+
+    // A message claimed by a dispatcher that never confirmed it
+    private EmailOutboxMessage claimed(String recipient, LocalDateTime claimedAt) {
+        EmailOutboxMessage message = new EmailOutboxMessage();
+        message.setRecipient(recipient);
+        message.setSender("no-reply@innovation.local");
+        message.setSubject("Claimed");
+        message.setBody("body");
+        message.setStatus("SENDING");
+        message.setClaimToken("test-" + recipient);
+        message.setClaimedAt(claimedAt);
+        message.setCreatedAt(claimedAt);
+        message.setNextAttemptAt(claimedAt);
+        return repository.save(message);
+    }
+
+    private List<EmailOutboxMessage> messagesTo(String recipient) {
+        return repository.findAll().stream().filter(message -> recipient.equals(message.getRecipient())).toList();
+    }
+
+    private static List<MimeMessage> received(String recipient) {
+        if (!smtp.isRunning()) {
+            return List.of();
+        }
+        return Arrays.stream(smtp.getReceivedMessages())
+                .filter(message -> recipient.equals(firstRecipient(message)))
+                .toList();
+    }
+
+    private static String firstRecipient(MimeMessage message) {
+        try {
+            return message.getAllRecipients()[0].toString();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String subject(MimeMessage message) {
+        try {
+            return message.getSubject();
+        } catch (MessagingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
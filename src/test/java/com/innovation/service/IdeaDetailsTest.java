@@ -0,0 +1,103 @@
+package com.innovation.service;
+
+import com.innovation.domain.Developpement;
+import com.innovation.domain.Document;
+import com.innovation.domain.Idea;
+import com.innovation.domain.POC;
+import com.innovation.dto.FullIdeaDetailsDto;
+import com.innovation.repository.DeveloppementRepository;
+import com.innovation.repository.DocumentRepository;
+import com.innovation.repository.IdeaRepository;
+import com.innovation.repository.POCRepository;
+import com.innovation.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The details view of an idea is loaded with two statements, whatever the idea has.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:idea-details-test;DB_CLOSE_DELAY=-1",
+        "app.search.index-dir=target/test-search-index-details"
+})
+@Import(StatementCounter.class)
+class IdeaDetailsTest {
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private IdeaRepository ideaRepository;
+
+    @Autowired
+    private POCRepository pocRepository;
+
+    @Autowired
+    private DeveloppementRepository developpementRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Test
+    void ideaWithPocDeveloppementAndDocumentsTakesTwoStatements() {
+        Idea idea = idea("Complete idea");
+        POC poc = new POC();
+        poc.setIdea(idea);
+        poc.setDecision("GO");
+        pocRepository.save(poc);
+        Developpement developpement = new Developpement();
+        developpement.setIdea(idea);
+        developpement.setStatutDev("EN_COURS");
+        developpementRepository.save(developpement);
+        document(idea, "spec.pdf");
+        document(idea, "slides.pdf");
+
+        StatementCounter.Counted<FullIdeaDetailsDto> details =
+                StatementCounter.count(() -> ideaService.getIdeaDetails(idea.getId()));
+
+        assertThat(details.statements()).isEqualTo(2);
+        assertThat(details.result().getIdea().getId()).isEqualTo(idea.getId());
+        assertThat(details.result().getPoc().decision()).isEqualTo("GO");
+        assertThat(details.result().getDeveloppement().statutDev()).isEqualTo("EN_COURS");
+        assertThat(details.result().getDocuments())
+                .extracting(FullIdeaDetailsDto.DocumentSummary::fileName)
+                .containsExactly("spec.pdf", "slides.pdf");
+    }
+
+    @Test
+    void ideaWithoutPocTakesTwoStatements() {
+        Idea idea = idea("New idea");
+
+        StatementCounter.Counted<FullIdeaDetailsDto> details =
+                StatementCounter.count(() -> ideaService.getIdeaDetails(idea.getId()));
+
+        assertThat(details.statements()).isEqualTo(2);
+        assertThat(details.result().getPoc()).isNull();
+        assertThat(details.result().getDeveloppement()).isNull();
+        assertThat(details.result().getDocuments()).isEmpty();
+    }
+
+    private Idea idea(String titre) {
+        Idea idea = new Idea();
+        idea.setTitre(titre);
+        idea.setDescription("Description");
+        idea.setCreatedBy("emetteurUser");
+        return ideaRepository.save(idea);
+    }
+
+    private void document(Idea idea, String fileName) {
+        Document document = new Document();
+        document.setIdea(idea);
+        document.setFileName(fileName);
+        document.setFilePath("uploads/" + fileName);
+        document.setFileType("application/pdf");
+        document.setUploadDate(LocalDateTime.now());
+        documentRepository.save(document);
+    }
+}
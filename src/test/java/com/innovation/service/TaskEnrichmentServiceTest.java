@@ -0,0 +1,61 @@
+package com.innovation.service;
+
+import com.innovation.domain.Idea;
+import com.innovation.dto.TaskDetailsDto;
+import com.innovation.support.StatementCounter;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The inbox served from the engine tables: the number of statements does not grow with the number of tasks.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:task-enrichment-test;DB_CLOSE_DELAY=-1",
+        "app.tasks.inbox.read-model=false",
+        "app.search.index-dir=target/test-search-index-tasks"
+})
+@Import(StatementCounter.class)
+class TaskEnrichmentServiceTest {
+
+    @Autowired
+    private IdeaService ideaService;
+
+    @Autowired
+    private TaskInboxService taskInboxService;
+
+    @Test
+    void inboxQueryCountDoesNotDependOnTheNumberOfTasks() {
+        createIdeas(5);
+        StatementCounter.Counted<List<?>> small = StatementCounter.count(this::adminInbox);
+
+        createIdeas(50);
+        StatementCounter.Counted<List<?>> large = StatementCounter.count(this::adminInbox);
+
+        assertThat(large.result()).hasSize(small.result().size() + 50);
+        assertThat(large.result()).allSatisfy(task -> assertThat(((TaskDetailsDto) task).getIdea()).isNotNull());
+        // The task query, the ideaId variables, the ideas
+        assertThat(small.statements()).isBetween(1, 3);
+        assertThat(large.statements()).isEqualTo(small.statements());
+    }
+
+    private List<?> adminInbox() {
+        return taskInboxService.findAll("admin", List.of("camunda-admin"), true, null, null,
+                TaskInboxService.SortBy.fromParam(null));
+    }
+
+    private void createIdeas(int count) {
+        for (int i = 0; i < count; i++) {
+            Idea idea = new Idea();
+            idea.setTitre("Idea " + i);
+            idea.setDescription("Description " + i);
+            idea.setCreatedBy("emetteurUser");
+            ideaService.createIdea(idea);
+        }
+    }
+}
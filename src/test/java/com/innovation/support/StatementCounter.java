@@ -0,0 +1,86 @@
+package com.innovation.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Counts the JDBC statements prepared on the application's data source, by JPA and by the Camunda engine alike, and
+ * records their SQL. Only the statements of the thread running {@link #count} are counted, not those of the job
+ * executor or the schedulers. Import it with {@code @Import(StatementCounter.class)}.
+ */
+@TestConfiguration
+public class StatementCounter {
+
+    private static final Set<String> STATEMENT_METHODS = Set.of("prepareStatement", "prepareCall", "createStatement");
+
+    private static final ThreadLocal<List<String>> STATEMENTS = new ThreadLocal<>();
+
+    // Number of statements prepared by the action
+    public static int count(Runnable action) {
+        return count(() -> {
+            action.run();
+            return null;
+        }).statements();
+    }
+
+    public static <T> Counted<T> count(Supplier<T> action) {
+        List<String> sql = new ArrayList<>();
+        STATEMENTS.set(sql);
+        try {
+            T result = action.get();
+            return new Counted<>(result, sql);
+        } finally {
+            STATEMENTS.remove();
+        }
+    }
+
+    // The SQL of each statement, empty for a plain Statement
+    public record Counted<T>(T result, List<String> sql) {
+
+        public int statements() {
+            return sql.size();
+        }
+    }
+
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                return bean instanceof DataSource dataSource ? proxy(DataSource.class, dataSource) : bean;
+            }
+        };
+    }
+
+    private static <T> T proxy(Class<T> type, T target) {
+        return type.cast(Proxy.newProxyInstance(StatementCounter.class.getClassLoader(), new Class<?>[]{type},
+                (proxy, method, args) -> {
+                    if (STATEMENT_METHODS.contains(method.getName())) {
+                        List<String> sql = STATEMENTS.get();
+                        if (sql != null) {
+                            sql.add(args != null && args.length > 0 && args[0] instanceof String text ? text : "");
+                        }
+                    }
+                    Object result;
+                    try {
+                        result = method.invoke(target, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getCause();
+                    }
+                    // Statements are prepared on the connections handed out by the data source
+                    return result instanceof Connection connection && method.getReturnType() == Connection.class
+                            ? proxy(Connection.class, connection)
+                            : result;
+                }));
+    }
+}